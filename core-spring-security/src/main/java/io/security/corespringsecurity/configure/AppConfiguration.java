@@ -1,13 +1,26 @@
 package io.security.corespringsecurity.configure;
 
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.jdbc.core.JdbcTemplate;
 
 import io.security.corespringsecurity.repository.AccessIpRepository;
 import io.security.corespringsecurity.repository.ResourcesRepository;
+import io.security.corespringsecurity.security.properties.ApiTokenProperties;
+import io.security.corespringsecurity.security.properties.PasswordHashProperties;
+import io.security.corespringsecurity.security.properties.SessionStoreProperties;
+import io.security.corespringsecurity.security.properties.TrustedProxyProperties;
+import io.security.corespringsecurity.security.properties.UrlDecisionCacheProperties;
+import io.security.corespringsecurity.security.properties.UserDetailsCacheProperties;
 import io.security.corespringsecurity.security.service.SecurityResourceService;
+import io.security.corespringsecurity.security.service.UserDetailsCache;
+import io.security.corespringsecurity.security.token.ApiTokenRevocationList;
 
+@EnableConfigurationProperties({UrlDecisionCacheProperties.class, TrustedProxyProperties.class,
+    PasswordHashProperties.class, UserDetailsCacheProperties.class, SessionStoreProperties.class,
+    ApiTokenProperties.class})
 @EnableJpaAuditing
 @Configuration
 public class AppConfiguration {
@@ -18,4 +31,15 @@ public class AppConfiguration {
         return new SecurityResourceService(resourcesRepository, accessIpRepository);
     }
 
+    @Bean
+    public ApiTokenRevocationList apiTokenRevocationList(JdbcTemplate jdbcTemplate,
+        ApiTokenProperties apiTokenProperties) {
+        return new ApiTokenRevocationList(jdbcTemplate, apiTokenProperties);
+    }
+
+    @Bean
+    public UserDetailsCache userDetailsCache(UserDetailsCacheProperties userDetailsCacheProperties) {
+        return new UserDetailsCache(userDetailsCacheProperties);
+    }
+
 }
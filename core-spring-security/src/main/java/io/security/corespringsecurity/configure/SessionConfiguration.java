@@ -0,0 +1,34 @@
+package io.security.corespringsecurity.configure;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.session.config.annotation.web.http.EnableSpringHttpSession;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import io.security.corespringsecurity.security.properties.SessionStoreProperties;
+import io.security.corespringsecurity.security.session.JdbcSessionRepository;
+
+/**
+ * Session 저장소 설정
+ *
+ * <pre>
+ *      - @EnableSpringHttpSession
+ *          - SessionRepositoryFilter 가 HttpSession 을 SessionRepository 의 Session 으로 대체
+ *          - Spring Security Filter 보다 먼저 실행된다.
+ *      - 여러 서버가 같은 Postgres 의 Session 을 사용하므로 sticky session 이 필요 없다.
+ * </pre>
+ */
+@ConditionalOnProperty(prefix = "security.session-store", name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableSpringHttpSession
+@Configuration
+public class SessionConfiguration {
+
+    @Bean
+    public JdbcSessionRepository sessionRepository(JdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager,
+        SessionStoreProperties sessionStoreProperties) {
+        return new JdbcSessionRepository(jdbcTemplate, transactionManager, sessionStoreProperties);
+    }
+}
@@ -54,8 +54,9 @@ public class ResourcesController {
 
         resourcesService.createResources(resources);
 
-        if ("url".equals(resourcesDto.getResourceType())) {
-            urlFilterInvocationSecurityMetadataSource.reload();
+        if ("url".equals(resourcesDto.getResourceType())
+            || "permitAll".equals(resourcesDto.getResourceType())) {
+            urlFilterInvocationSecurityMetadataSource.addResource(resources);
         } else {
             methodSecurityService.addMethodSecured(resourcesDto.getResourceName(),
                 resourcesDto.getRoleName());
@@ -99,8 +100,9 @@ public class ResourcesController {
         Resources resources = resourcesService.getResources(Long.valueOf(id));
         resourcesService.deleteResources(Long.valueOf(id));
 
-        if ("url".equals(resources.getResourceType())) {
-            urlFilterInvocationSecurityMetadataSource.reload();
+        if ("url".equals(resources.getResourceType())
+            || "permitAll".equals(resources.getResourceType())) {
+            urlFilterInvocationSecurityMetadataSource.removeResource(resources.getId());
         } else {
             methodSecurityService.removeMethodSecured(resources.getResourceName());
         }
@@ -1,6 +1,6 @@
 package io.security.corespringsecurity.controller.login;
 
-import io.security.corespringsecurity.domain.entity.Account;
+import io.security.corespringsecurity.security.service.AccountPrincipal;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -41,9 +41,9 @@ public class LoginController {
         @RequestParam(value = "exception", required = false) String exception, Model model,
         Authentication authentication) {
 
-        Account account = (Account) authentication.getPrincipal();
+        AccountPrincipal principal = (AccountPrincipal) authentication.getPrincipal();
 
-        model.addAttribute("username", account.getUsername());
+        model.addAttribute("username", principal.getUsername());
         model.addAttribute("exception", exception);
 
         return "user/login/denied";
@@ -0,0 +1,23 @@
+package io.security.corespringsecurity.domain.dto;
+
+/**
+ * 로그인에 필요한 사용자 정보의 한 행 (사용자 + 권한 하나)
+ *
+ * <pre>
+ *      - UserRepository.findAuthenticationRows() 의 Interface 기반 Projection
+ *      - 권한 수 만큼 행이 조회되며, 권한이 없는 사용자는 roleName 이 null 인 한 행
+ *      - Account, Role Entity 를 생성하지 않으므로 영속성 Context, Dirty Checking, Proxy 가 없다.
+ * </pre>
+ */
+public interface AccountAuthenticationRow {
+
+    Long getId();
+
+    String getUsername();
+
+    String getPassword();
+
+    Long getRoleId();
+
+    String getRoleName();
+}
@@ -0,0 +1,16 @@
+package io.security.corespringsecurity.domain.dto;
+
+/**
+ * 권한 계층의 (상위 권한, 하위 권한) 한 쌍
+ *
+ * <pre>
+ *      - RoleHierarchyRepository.findAllEdges() 의 Interface 기반 Projection
+ *      - RoleHierarchy Entity 를 생성하지 않고 이름만 조회
+ * </pre>
+ */
+public interface RoleHierarchyEdge {
+
+    String getParentName();
+
+    String getChildName();
+}
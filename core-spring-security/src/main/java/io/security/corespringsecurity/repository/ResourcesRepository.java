@@ -15,6 +15,10 @@ public interface ResourcesRepository extends JpaRepository<Resources, Long> {
     @Query("select r from Resources r join fetch r.roleSet where r.resourceType = 'url' order by r.orderNum desc")
     List<Resources> findAllResources();
 
+    // permitAll 자원은 권한 정보가 없으므로 roleSet 을 join 하지 않는다.
+    @Query("select r from Resources r where r.resourceType = 'permitAll' order by r.orderNum desc")
+    List<Resources> findAllPermitAllResources();
+
     @Query("select r from Resources r join fetch r.roleSet where r.resourceType = 'method' order by r.orderNum desc")
     List<Resources> findAllMethodResources();
 
@@ -1,13 +1,27 @@
 package io.security.corespringsecurity.repository;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import io.security.corespringsecurity.domain.dto.RoleHierarchyEdge;
 import io.security.corespringsecurity.domain.entity.RoleHierarchy;
 
 public interface RoleHierarchyRepository extends JpaRepository<RoleHierarchy, Long> {
 
     Optional<RoleHierarchy> findByChildName(String roleName);
 
+    /**
+     * 상위 권한이 있는 모든 (상위 권한, 하위 권한) 을 한번의 join 으로 조회
+     *
+     * <pre>
+     *      - findAll() 후 getParentName() 을 호출하면 행 마다 상위 권한을 lazy 조회 (N + 1)
+     *      - 계층 깊이와 상관없이 query 한번
+     * </pre>
+     */
+    @Query("select p.childName as parentName, h.childName as childName from RoleHierarchy h join h.parentName p")
+    List<RoleHierarchyEdge> findAllEdges();
+
 }
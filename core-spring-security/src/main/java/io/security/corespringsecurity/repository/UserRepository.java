@@ -1,14 +1,30 @@
 package io.security.corespringsecurity.repository;
 
+import io.security.corespringsecurity.domain.dto.AccountAuthenticationRow;
 import io.security.corespringsecurity.domain.entity.Account;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface UserRepository extends JpaRepository<Account, Long> {
 
     @EntityGraph(attributePaths = {"userRoles"})
     Optional<Account> findByUsername(String username);
 
+    /**
+     * 로그인 용 사용자 정보를 한번의 query 로 조회
+     *
+     * <pre>
+     *      - findByUsername() 은 Account 와 userRoles Collection 을 Entity 로 생성하여 영속성 Context 에 저장
+     *      - 필요한 column 만 평평한 행으로 조회 (사용자 + 권한 수 만큼)
+     * </pre>
+     */
+    @Query("select a.id as id, a.username as username, a.password as password, r.id as roleId, r.roleName as roleName "
+        + "from Account a left join a.userRoles r where a.username = :username")
+    List<AccountAuthenticationRow> findAuthenticationRows(@Param("username") String username);
+
 }
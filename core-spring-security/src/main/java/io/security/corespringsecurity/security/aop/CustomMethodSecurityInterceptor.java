@@ -1,12 +1,26 @@
 package io.security.corespringsecurity.security.aop;
 
+import java.util.Collection;
+
 import org.aopalliance.intercept.MethodInterceptor;
 import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.security.access.ConfigAttribute;
 import org.springframework.security.access.SecurityMetadataSource;
 import org.springframework.security.access.intercept.AbstractSecurityInterceptor;
 import org.springframework.security.access.intercept.InterceptorStatusToken;
 import org.springframework.security.access.method.MethodSecurityMetadataSource;
 
+/**
+ * Method 방식 - 실시간 권한 심사 Interceptor
+ *
+ * <pre>
+ *      - 실시간 권한 대상 Bean 의 모든 Method 호출에 적용된다. (LiveMethodSecurityPostProcessor)
+ *      - 권한이 없는 Method 는 beforeInvocation() 을 호출하지 않고 바로 실행
+ *          - 인증 객체 확인, PublicInvocationEvent 발행 등을 생략
+ *          - 권한 조회 결과는 LiveMethodSecurityMetadataSource 에 저장되어 있으므로 Map 조회 한번
+ *          - rejectPublicInvocations 가 true 이면 기존과 같이 beforeInvocation() 에서 거부
+ * </pre>
+ */
 public class CustomMethodSecurityInterceptor extends AbstractSecurityInterceptor implements
     MethodInterceptor {
 
@@ -17,6 +31,16 @@ public class CustomMethodSecurityInterceptor extends AbstractSecurityInterceptor
     }
 
     public Object invoke(MethodInvocation mi) throws Throwable {
+
+        if (!isRejectPublicInvocations()) {
+
+            Collection<ConfigAttribute> attributes = securityMetadataSource.getAttributes(mi);
+
+            if (attributes == null || attributes.isEmpty()) {
+                return mi.proceed();
+            }
+        }
+
         InterceptorStatusToken token = super.beforeInvocation(mi);
 
         Object result;
@@ -0,0 +1,79 @@
+package io.security.corespringsecurity.security.common;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom Filter
+ *
+ * <pre>
+ *      - mightContain() 이 false 이면 확실히 없다.
+ *          - true 이면 있을 수도 있으므로 정확한 Set 으로 다시 확인
+ *      - 대부분의 조회 (없는 값) 를 bit 몇 개 확인으로 끝낸다.
+ *      - key 는 이미 고르게 분포된 128 bit 값 (임의로 생성한 id) 을 사용
+ *          - 별도의 hash 계산 없이 (high + i * low) 로 bit 위치 결정 (double hashing)
+ *      - bit 배열은 AtomicLongArray 이므로 추가와 조회가 동시에 일어나도 안전하다.
+ * </pre>
+ */
+public class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitSize;
+    private final int hashCount;
+    private final int expectedInsertions;
+
+    /**
+     * @param expectedInsertions 저장할 값의 수
+     * @param falsePositiveRate  있다고 잘못 판단할 확률 (ex. 0.01)
+     */
+    public BloomFilter(int expectedInsertions, double falsePositiveRate) {
+
+        int insertions = Math.max(1, expectedInsertions);
+
+        long size = (long) Math.ceil(
+            -insertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+
+        this.bits = new AtomicLongArray((int) ((size + 63) / 64));
+        this.bitSize = bits.length() * 64L;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitSize / insertions * Math.log(2)));
+        this.expectedInsertions = insertions;
+    }
+
+    public void put(long high, long low) {
+
+        for (int i = 0; i < hashCount; i++) {
+
+            long index = index(high, low, i);
+
+            int word = (int) (index >>> 6);
+            long mask = 1L << index;
+
+            long current = bits.get(word);
+
+            while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask)) {
+                current = bits.get(word);
+            }
+        }
+    }
+
+    public boolean mightContain(long high, long low) {
+
+        for (int i = 0; i < hashCount; i++) {
+
+            long index = index(high, low, i);
+
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    public int getExpectedInsertions() {
+        return expectedInsertions;
+    }
+
+    private long index(long high, long low, int i) {
+        return Math.floorMod(high + i * low, bitSize);
+    }
+}
@@ -0,0 +1,54 @@
+package io.security.corespringsecurity.security.common;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.security.access.ConfigAttribute;
+import org.springframework.security.access.SecurityConfig;
+
+/**
+ * ConfigAttribute 공유 Pool
+ *
+ * <pre>
+ *      - 자원은 많지만 권한(Role) 의 종류는 몇 개 되지 않는다.
+ *          - 자원 마다 new SecurityConfig(roleName) 을 생성하면 같은 권한의 객체가 자원 수 만큼 생성된다.
+ *      - 권한 이름 별로 하나의 SecurityConfig 만 생성하여 url, method, pointcut 방식에서 함께 사용
+ *      - 같은 권한 목록은 같은 불변 List (RoleAttributeList) 를 사용
+ *          - 권한 목록의 RoleBits 도 한번만 계산된다.
+ *      - SecurityConfig 는 불변 객체이므로 공유해도 안전하다.
+ * </pre>
+ */
+public final class ConfigAttributePool {
+
+    private static final ConcurrentMap<String, ConfigAttribute> ATTRIBUTES = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<List<String>, List<ConfigAttribute>> ATTRIBUTE_LISTS = new ConcurrentHashMap<>();
+
+    private ConfigAttributePool() {
+    }
+
+    public static ConfigAttribute of(String roleName) {
+        return ATTRIBUTES.computeIfAbsent(roleName, SecurityConfig::new);
+    }
+
+    /**
+     * @return 권한 이름 순서 그대로의 불변 List
+     */
+    public static List<ConfigAttribute> listOf(Collection<String> roleNames) {
+
+        return ATTRIBUTE_LISTS.computeIfAbsent(List.copyOf(roleNames), key -> {
+
+            List<ConfigAttribute> attributes = new ArrayList<>(key.size());
+
+            key.forEach(roleName -> attributes.add(of(roleName)));
+
+            return new RoleAttributeList(attributes);
+        });
+    }
+
+    public static List<ConfigAttribute> listOf(String roleName) {
+        return listOf(List.of(roleName));
+    }
+}
@@ -0,0 +1,62 @@
+package io.security.corespringsecurity.security.common;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+
+import org.springframework.security.access.ConfigAttribute;
+
+import io.security.corespringsecurity.security.hierarchy.RoleBits;
+
+/**
+ * 자원의 권한 목록
+ *
+ * <pre>
+ *      - 불변 List<ConfigAttribute>
+ *      - ROLE_ 로 시작하는 권한을 RoleBits 로 미리 계산
+ *          - RoleBitSetVoter 는 권한 문자열을 비교하지 않고 requiredBits 로 심사
+ * </pre>
+ */
+public final class RoleAttributeList extends AbstractList<ConfigAttribute> implements
+    RandomAccess, Serializable {
+
+    public static final String ROLE_PREFIX = "ROLE_";
+
+    private final ConfigAttribute[] attributes;
+    private final RoleBits requiredBits;
+
+    RoleAttributeList(List<ConfigAttribute> attributes) {
+
+        this.attributes = attributes.toArray(new ConfigAttribute[0]);
+
+        List<String> roleNames = new ArrayList<>(attributes.size());
+
+        for (ConfigAttribute attribute : attributes) {
+            if (isRole(attribute)) {
+                roleNames.add(attribute.getAttribute());
+            }
+        }
+
+        this.requiredBits = RoleBits.of(roleNames);
+    }
+
+    public static boolean isRole(ConfigAttribute attribute) {
+        return attribute.getAttribute() != null && attribute.getAttribute().startsWith(ROLE_PREFIX);
+    }
+
+    public RoleBits getRequiredBits() {
+        return requiredBits;
+    }
+
+    @Override
+    public ConfigAttribute get(int index) {
+        return attributes[index];
+    }
+
+    @Override
+    public int size() {
+        return attributes.length;
+    }
+}
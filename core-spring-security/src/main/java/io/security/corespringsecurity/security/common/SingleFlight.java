@@ -0,0 +1,99 @@
+package io.security.corespringsecurity.security.common;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * 같은 key 의 동시 조회 합치기 (Single Flight)
+ *
+ * <pre>
+ *      - 같은 key 로 동시에 들어온 조회는 먼저 들어온 요청 (leader) 만 실제로 조회한다.
+ *          - 나머지 요청은 leader 의 CompletableFuture 결과를 함께 사용
+ *          - key 당 동시에 한번만 조회되므로 요청이 몰려도 DB 조회 수가 늘어나지 않는다.
+ *      - ConcurrentHashMap.putIfAbsent 로 leader 를 정하므로 lock 이 없다.
+ *          - computeIfAbsent 와 달리 조회하는 동안 Map 의 bin 을 잠그지 않는다.
+ *      - 조회가 끝나면 제거하므로 결과를 저장하지 않는다. (저장은 Cache 의 역할)
+ *      - 조회 중 발생한 RuntimeException 은 기다리던 모든 요청에 그대로 전달
+ * </pre>
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder sharedCount = new LongAdder();
+
+    public V execute(K key, Function<? super K, ? extends V> loader) {
+
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, future);
+
+        if (running != null) {
+            sharedCount.increment();
+            return await(running);
+        }
+
+        try {
+            V value = loader.apply(key);
+
+            future.complete(value);
+
+            return value;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    /**
+     * @return leader 의 결과를 함께 사용한 요청 수
+     */
+    public long getSharedCount() {
+        return sharedCount.sum();
+    }
+
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    private static <V> V await(CompletableFuture<V> future) {
+
+        boolean interrupted = false;
+
+        try {
+            while (true) {
+                try {
+                    return future.get();
+                } catch (InterruptedException e) {
+                    // leader 의 조회는 중단되지 않으므로 결과를 기다린 후 interrupt 상태를 복원
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    throw rethrow(e.getCause());
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable cause) {
+
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        }
+
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+
+        return new CompletionException(cause);
+    }
+}
@@ -3,6 +3,7 @@ package io.security.corespringsecurity.security.configure;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.annotation.Order;
@@ -11,19 +12,29 @@ import org.springframework.security.config.annotation.authentication.builders.Au
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.access.AccessDeniedHandler;
 import org.springframework.security.web.authentication.AuthenticationFailureHandler;
 import org.springframework.security.web.authentication.AuthenticationSuccessHandler;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.authentication.logout.HttpStatusReturningLogoutSuccessHandler;
+import org.springframework.security.web.context.NullSecurityContextRepository;
+import org.springframework.security.web.context.SecurityContextRepository;
 
 import io.security.corespringsecurity.security.common.AjaxLoginAuthenticationEntryPoint;
+import io.security.corespringsecurity.security.crypto.PasswordUpgrader;
+import io.security.corespringsecurity.security.crypto.PasswordVerificationExecutor;
 import io.security.corespringsecurity.security.filer.AjaxLoginProcessingFilter;
+import io.security.corespringsecurity.security.filer.ApiTokenAuthenticationFilter;
 import io.security.corespringsecurity.security.handler.AjaxAccessDeniedHandler;
 import io.security.corespringsecurity.security.handler.AjaxAuthenticationFailureHandler;
 import io.security.corespringsecurity.security.handler.AjaxAuthenticationSuccessHandler;
+import io.security.corespringsecurity.security.handler.ApiTokenLogoutHandler;
+import io.security.corespringsecurity.security.properties.ApiTokenProperties;
 import io.security.corespringsecurity.security.provider.AjaxAuthenticationProvider;
+import io.security.corespringsecurity.security.token.ApiTokenRevocationList;
+import io.security.corespringsecurity.security.token.ApiTokenService;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -33,7 +44,11 @@ import io.security.corespringsecurity.security.provider.AjaxAuthenticationProvid
 public class AjaxSecurityConfiguration extends WebSecurityConfigurerAdapter {
 
     private final UserDetailsService userDetailsService;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordVerificationExecutor passwordVerificationExecutor;
+    private final PasswordUpgrader passwordUpgrader;
+    private final SecurityContextRepository securityContextRepository;
+    private final ApiTokenProperties apiTokenProperties;
+    private final ApiTokenRevocationList apiTokenRevocationList;
 
     @Override
     protected void configure(AuthenticationManagerBuilder auth) throws Exception {
@@ -63,6 +78,13 @@ public class AjaxSecurityConfiguration extends WebSecurityConfigurerAdapter {
             .authenticationEntryPoint(new AjaxLoginAuthenticationEntryPoint())
             .accessDeniedHandler(ajaxAccessDeniedHandler());
 
+        if (apiTokenProperties.isEnabled()) {
+            configureStateless(http);
+        } else {
+            http
+                .securityContext()
+                .securityContextRepository(securityContextRepository);
+        }
 
         // customDSL 로 설정
         customConfigurerAjax(http);
@@ -85,14 +107,29 @@ public class AjaxSecurityConfiguration extends WebSecurityConfigurerAdapter {
 
     @Bean
     public AuthenticationProvider ajaxAuthenticationProvider() {
-        return new AjaxAuthenticationProvider(userDetailsService, passwordEncoder);
+        return new AjaxAuthenticationProvider(userDetailsService, passwordVerificationExecutor,
+            passwordUpgrader);
     }
 
     @Bean
     public AuthenticationSuccessHandler ajaxAuthenticationSuccessHandler() {
+
+        if (apiTokenProperties.isEnabled()) {
+            return new AjaxAuthenticationSuccessHandler(apiTokenService());
+        }
+
         return new AjaxAuthenticationSuccessHandler();
     }
 
+    /**
+     * 무상태 인증을 사용하는 경우에만 생성 (key 설정 검증)
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "security.api-token", name = "enabled", havingValue = "true")
+    public ApiTokenService apiTokenService() {
+        return new ApiTokenService(apiTokenProperties, apiTokenRevocationList);
+    }
+
     @Bean
     public AuthenticationFailureHandler ajaxAuthenticationFailureHandler() {
         return new AjaxAuthenticationFailureHandler();
@@ -103,6 +140,41 @@ public class AjaxSecurityConfiguration extends WebSecurityConfigurerAdapter {
         return new AjaxAccessDeniedHandler();
     }
 
+    /**
+     * 무상태 인증
+     *
+     * <pre>
+     *      - Session 을 생성, 사용하지 않는다. (NullSecurityContextRepository)
+     *      - 로그인 성공 시 Token 발급 (AjaxAuthenticationSuccessHandler)
+     *      - 요청 마다 Token 검증 (ApiTokenAuthenticationFilter)
+     *      - /api/logout 시 요청의 Token 폐기 (ApiTokenLogoutHandler)
+     *      - Token 은 Cookie 로 자동 전송되지 않으므로 CSRF 보호가 필요 없다.
+     * </pre>
+     */
+    private void configureStateless(HttpSecurity http) throws Exception {
+
+        http
+            .sessionManagement()
+            .sessionCreationPolicy(SessionCreationPolicy.STATELESS);
+
+        http
+            .securityContext()
+            .securityContextRepository(new NullSecurityContextRepository());
+
+        http
+            .csrf().disable();
+
+        http
+            .logout()
+            .logoutUrl("/api/logout")
+            .addLogoutHandler(new ApiTokenLogoutHandler(apiTokenService(), apiTokenRevocationList))
+            .logoutSuccessHandler(new HttpStatusReturningLogoutSuccessHandler());
+
+        http
+            .addFilterBefore(new ApiTokenAuthenticationFilter(apiTokenService()),
+                UsernamePasswordAuthenticationFilter.class);
+    }
+
     private void customConfigurerAjax(HttpSecurity http) throws Exception {
 
         http
@@ -12,6 +12,8 @@ import org.springframework.security.config.annotation.method.configuration.Globa
 
 import io.security.corespringsecurity.security.aop.CustomMethodSecurityInterceptor;
 import io.security.corespringsecurity.security.factory.MethodResourceMapFactoryBean;
+import io.security.corespringsecurity.security.metadatasource.LiveMethodSecurityMetadataSource;
+import io.security.corespringsecurity.security.processor.LiveMethodSecurityPostProcessor;
 import io.security.corespringsecurity.security.processor.ProtectPointcutPostProcessor;
 import io.security.corespringsecurity.security.service.SecurityResourceService;
 
@@ -57,6 +59,17 @@ import io.security.corespringsecurity.security.service.SecurityResourceService;
  *              - execution(* io.security.service.*Service.*(..)): ROLE_USER
  *      - 설정 클래스에서 Bean 생성기 접근제한자가 Package 범위로 되어 있기 때문에 Reflection 을 이용해 생성한다.
  * </pre>
+ * <p>
+ * <p>
+ * Method 방식 - 실시간 권한 적용
+ *
+ * <pre>
+ *      - Method 방식 자원은 MapBasedMethodSecurityMetadataSource 가 아닌 LiveMethodSecurityMetadataSource 가 관리
+ *          - MapBasedMethodSecurityMetadataSource 에는 Pointcut 방식 자원만 등록
+ *      - 대상 Bean 에는 LiveMethodSecurityPostProcessor 가 시작 시 CustomMethodSecurityInterceptor 를 등록
+ *          - DB 의 Method 방식 자원에 있는 Class + Application 의 @Service Class
+ *      - 권한 추가, 삭제 시 Bean 을 다시 등록하지 않고 LiveMethodSecurityMetadataSource 의 Table 만 교체
+ * </pre>
  */
 @RequiredArgsConstructor
 @EnableGlobalMethodSecurity
@@ -72,7 +85,12 @@ public class MethodSecurityConfiguration extends GlobalMethodSecurityConfigurati
 
     @Bean
     public MapBasedMethodSecurityMetadataSource mapBasedMethodSecurityMetadataSource() {
-        return new MapBasedMethodSecurityMetadataSource(methodResourcesMap().getObject());
+        return new MapBasedMethodSecurityMetadataSource();
+    }
+
+    @Bean
+    public LiveMethodSecurityMetadataSource liveMethodSecurityMetadataSource() {
+        return new LiveMethodSecurityMetadataSource(methodResourcesMap().getObject());
     }
 
     @Bean
@@ -123,7 +141,7 @@ public class MethodSecurityConfiguration extends GlobalMethodSecurityConfigurati
 
     @Bean
     public CustomMethodSecurityInterceptor customMethodSecurityInterceptor(
-        MapBasedMethodSecurityMetadataSource methodSecurityMetadataSource) {
+        LiveMethodSecurityMetadataSource methodSecurityMetadataSource) {
         CustomMethodSecurityInterceptor customMethodSecurityInterceptor = new CustomMethodSecurityInterceptor();
         customMethodSecurityInterceptor.setAccessDecisionManager(accessDecisionManager());
         customMethodSecurityInterceptor.setAfterInvocationManager(afterInvocationManager());
@@ -138,4 +156,11 @@ public class MethodSecurityConfiguration extends GlobalMethodSecurityConfigurati
         return customMethodSecurityInterceptor;
     }
 
+    @Bean
+    public LiveMethodSecurityPostProcessor liveMethodSecurityPostProcessor() {
+        return new LiveMethodSecurityPostProcessor(
+            customMethodSecurityInterceptor(liveMethodSecurityMetadataSource()),
+            liveMethodSecurityMetadataSource());
+    }
+
 }
@@ -3,7 +3,9 @@ package io.security.corespringsecurity.security.configure;
 import lombok.RequiredArgsConstructor;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import javax.servlet.http.HttpServletRequest;
 
@@ -13,9 +15,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.core.annotation.Order;
 import org.springframework.security.access.AccessDecisionManager;
 import org.springframework.security.access.AccessDecisionVoter;
-import org.springframework.security.access.hierarchicalroles.RoleHierarchyImpl;
 import org.springframework.security.access.vote.AffirmativeBased;
-import org.springframework.security.access.vote.RoleHierarchyVoter;
 import org.springframework.security.authentication.AuthenticationDetailsSource;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
@@ -23,25 +23,43 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.builders.WebSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+import org.springframework.security.crypto.scrypt.SCryptPasswordEncoder;
 import org.springframework.security.web.access.AccessDeniedHandler;
 import org.springframework.security.web.access.intercept.FilterInvocationSecurityMetadataSource;
 import org.springframework.security.web.access.intercept.FilterSecurityInterceptor;
 import org.springframework.security.web.authentication.AuthenticationFailureHandler;
 import org.springframework.security.web.authentication.AuthenticationSuccessHandler;
 import org.springframework.security.web.authentication.WebAuthenticationDetails;
+import org.springframework.security.web.context.SecurityContextRepository;
 
+import io.security.corespringsecurity.security.context.CompactSecurityContextRepository;
+import io.security.corespringsecurity.security.crypto.BcryptCostCalibrator;
+import io.security.corespringsecurity.security.crypto.PasswordUpgrader;
+import io.security.corespringsecurity.security.crypto.PasswordVerificationExecutor;
 import io.security.corespringsecurity.security.factory.UrlResourcesMapFactoryBean;
 import io.security.corespringsecurity.security.filer.PermitAllFilter;
 import io.security.corespringsecurity.security.handler.CustomAccessDeniedHandler;
+import io.security.corespringsecurity.security.hierarchy.ClosureRoleHierarchy;
 import io.security.corespringsecurity.security.handler.CustomAuthenticationFailureHandler;
 import io.security.corespringsecurity.security.handler.CustomAuthenticationSuccessHandler;
+import io.security.corespringsecurity.security.metadatasource.UrlDecisionCache;
 import io.security.corespringsecurity.security.metadatasource.UrlFilterInvocationSecurityMetadataSource;
+import io.security.corespringsecurity.security.properties.PasswordHashProperties;
+import io.security.corespringsecurity.security.properties.TrustedProxyProperties;
+import io.security.corespringsecurity.security.properties.UrlDecisionCacheProperties;
 import io.security.corespringsecurity.security.provider.CustomAuthenticationProvider;
 import io.security.corespringsecurity.security.service.SecurityResourceService;
+import io.security.corespringsecurity.security.voter.ClientIpResolver;
 import io.security.corespringsecurity.security.voter.IpAddressVoter;
+import io.security.corespringsecurity.security.voter.RoleBitSetVoter;
 
 @RequiredArgsConstructor
 @Order(1)
@@ -50,9 +68,13 @@ import io.security.corespringsecurity.security.voter.IpAddressVoter;
 public class SecurityConfiguration extends WebSecurityConfigurerAdapter {
 
     private final UserDetailsService userDetailsService;
+    private final UserDetailsPasswordService userDetailsPasswordService;
     private final AuthenticationDetailsSource<HttpServletRequest, WebAuthenticationDetails> authenticationDetailsSource;
 
     private final SecurityResourceService securityResourceService;
+    private final UrlDecisionCacheProperties urlDecisionCacheProperties;
+    private final TrustedProxyProperties trustedProxyProperties;
+    private final PasswordHashProperties passwordHashProperties;
 
 //    private final AuthenticationSuccessHandler successHandler;
 //    private final AuthenticationFailureHandler failureHandler;
@@ -111,6 +133,10 @@ public class SecurityConfiguration extends WebSecurityConfigurerAdapter {
             .exceptionHandling()
             .accessDeniedHandler(accessDeniedHandler());
 
+        http
+            .securityContext()
+            .securityContextRepository(securityContextRepository());
+
     }
 
     /**
@@ -133,16 +159,58 @@ public class SecurityConfiguration extends WebSecurityConfigurerAdapter {
      *              - password 암호화
      *          - matches(rawPassword, encodedPassword)
      *              - password 비교
+     *          - upgradeEncoding(encodedPassword)
+     *              - 저장된 hash 를 다시 암호화해야 하는지 확인 (알고리즘 변경, bcrypt cost 증가)
+     *
+     *      - bcrypt cost 는 시작 시 서버에서 측정한 hash 시간으로 결정 (BcryptCostCalibrator)
+     *          - 로그인 성공 시 cost 가 낮은 hash 는 PasswordUpgrader 가 비동기로 재암호화
      * </pre>
      */
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return PasswordEncoderFactories.createDelegatingPasswordEncoder();
+
+        int cost = passwordHashProperties.isCalibrationEnabled()
+            ? BcryptCostCalibrator.calibrate(passwordHashProperties.getTargetHashMillis(),
+            passwordHashProperties.getMinCost(), passwordHashProperties.getMaxCost())
+            : passwordHashProperties.getMinCost();
+
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+
+        encoders.put("bcrypt", new BCryptPasswordEncoder(cost));
+        encoders.put("noop", NoOpPasswordEncoder.getInstance());
+        encoders.put("pbkdf2", new Pbkdf2PasswordEncoder());
+        encoders.put("scrypt", new SCryptPasswordEncoder());
+        encoders.put("argon2", new Argon2PasswordEncoder());
+
+        return new DelegatingPasswordEncoder("bcrypt", encoders);
+    }
+
+    /**
+     * Session 에 SecurityContext 를 byte[] 로 저장
+     *
+     * <pre>
+     *      - Form, Ajax 설정이 같은 Session 을 사용하므로 함께 사용
+     * </pre>
+     */
+    @Bean
+    public SecurityContextRepository securityContextRepository() {
+        return new CompactSecurityContextRepository();
+    }
+
+    @Bean
+    public PasswordUpgrader passwordUpgrader() {
+        return new PasswordUpgrader(passwordEncoder(), userDetailsPasswordService);
+    }
+
+    @Bean
+    public PasswordVerificationExecutor passwordVerificationExecutor() {
+        return new PasswordVerificationExecutor(passwordEncoder(), passwordHashProperties);
     }
 
     @Bean
     public AuthenticationProvider authenticationProvider() {
-        return new CustomAuthenticationProvider(userDetailsService, passwordEncoder());
+        return new CustomAuthenticationProvider(userDetailsService,
+            passwordVerificationExecutor(), passwordUpgrader());
     }
 
     @Bean
@@ -162,7 +230,7 @@ public class SecurityConfiguration extends WebSecurityConfigurerAdapter {
 
     @Bean
     public PermitAllFilter customFilterSecurityInterceptor() throws Exception {
-        PermitAllFilter permitAllFilter = new PermitAllFilter(permitAllResources);
+        PermitAllFilter permitAllFilter = new PermitAllFilter();
 
         permitAllFilter.setSecurityMetadataSource(
             urlFilterInvocationSecurityMetadataSource());
@@ -174,8 +242,17 @@ public class SecurityConfiguration extends WebSecurityConfigurerAdapter {
 
     @Bean
     public FilterInvocationSecurityMetadataSource urlFilterInvocationSecurityMetadataSource() {
-        return new UrlFilterInvocationSecurityMetadataSource(
-            urlResourcesMapFactoryBean().getObject(), securityResourceService);
+        UrlFilterInvocationSecurityMetadataSource urlFilterInvocationSecurityMetadataSource =
+            new UrlFilterInvocationSecurityMetadataSource(
+                urlResourcesMapFactoryBean().getObject(), securityResourceService,
+                permitAllResources);
+
+        if (urlDecisionCacheProperties.isEnabled()) {
+            urlFilterInvocationSecurityMetadataSource.setUrlDecisionCache(
+                new UrlDecisionCache(urlDecisionCacheProperties));
+        }
+
+        return urlFilterInvocationSecurityMetadataSource;
     }
 
     @Bean
@@ -202,16 +279,21 @@ public class SecurityConfiguration extends WebSecurityConfigurerAdapter {
 
     @Bean
     public AccessDecisionVoter<? extends Object> roleVoter() {
-        return new RoleHierarchyVoter(roleHierarchy());
+        return new RoleBitSetVoter(roleHierarchy());
     }
 
     @Bean
     public IpAddressVoter ipAddressVoter() {
-        return new IpAddressVoter(securityResourceService);
+        return new IpAddressVoter(securityResourceService, clientIpResolver());
+    }
+
+    @Bean
+    public ClientIpResolver clientIpResolver() {
+        return new ClientIpResolver(trustedProxyProperties.getAddresses());
     }
 
     @Bean
-    public RoleHierarchyImpl roleHierarchy() {
-        return new RoleHierarchyImpl();
+    public ClosureRoleHierarchy roleHierarchy() {
+        return new ClosureRoleHierarchy();
     }
 }
@@ -0,0 +1,202 @@
+package io.security.corespringsecurity.security.context;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+
+import io.security.corespringsecurity.security.service.AccountPrincipal;
+import io.security.corespringsecurity.security.token.AjaxAuthenticationToken;
+import io.security.corespringsecurity.security.token.FormAuthenticationToken;
+
+/**
+ * Authentication <-> byte[] 변환
+ *
+ * <pre>
+ *      - Java 직렬화 대신 필요한 값만 고정된 순서로 기록
+ *          - format version (1 byte)
+ *          - token 종류 (1 byte) : Form, Ajax
+ *          - principal : id, username, 권한 id 목록
+ *          - 권한 (GrantedAuthority) 이름 목록
+ *          - 인증 시각, 인증 시점의 Client IP
+ *      - 인증 완료된 FormAuthenticationToken, AjaxAuthenticationToken (principal 이 AccountPrincipal) 만 지원
+ *          - 그 외에는 encode() 가 null 을 반환
+ *      - format version 이 다르거나 손상된 값은 decode() 가 null 을 반환 (인증되지 않은 것으로 처리)
+ * </pre>
+ */
+@Slf4j
+public class AuthenticationCodec {
+
+    static final byte FORMAT_VERSION = 1;
+
+    private static final byte FORM = 1;
+    private static final byte AJAX = 2;
+
+    /**
+     * @return 지원하지 않는 Authentication 이면 null
+     */
+    public byte[] encode(Authentication authentication) {
+
+        byte type = typeOf(authentication);
+
+        if (type == 0 || !(authentication.getPrincipal() instanceof AccountPrincipal)) {
+            return null;
+        }
+
+        AccountPrincipal principal = (AccountPrincipal) authentication.getPrincipal();
+        Collection<? extends GrantedAuthority> authorities = authentication.getAuthorities();
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+
+            out.writeByte(FORMAT_VERSION);
+            out.writeByte(type);
+
+            out.writeBoolean(principal.getId() != null);
+
+            if (principal.getId() != null) {
+                out.writeLong(principal.getId());
+            }
+
+            out.writeUTF(principal.getUsername());
+
+            long[] roleIds = principal.getRoleIds();
+
+            out.writeShort(roleIds.length);
+
+            for (long roleId : roleIds) {
+                out.writeLong(roleId);
+            }
+
+            out.writeShort(authorities.size());
+
+            for (GrantedAuthority authority : authorities) {
+                out.writeUTF(authority.getAuthority());
+            }
+
+            StoredAuthenticationDetails details = detailsOf(authentication.getDetails());
+
+            out.writeLong(details.getAuthenticatedAt());
+            out.writeBoolean(details.getRemoteAddress() != null);
+
+            if (details.getRemoteAddress() != null) {
+                out.writeUTF(details.getRemoteAddress());
+            }
+
+        } catch (IOException e) {
+            // ByteArrayOutputStream 은 IOException 이 발생하지 않는다.
+            throw new IllegalStateException(e);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @return format version 이 다르거나 손상된 경우 null
+     */
+    public Authentication decode(byte[] encoded) {
+
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(encoded))) {
+
+            if (in.readByte() != FORMAT_VERSION) {
+                return null;
+            }
+
+            byte type = in.readByte();
+
+            Long id = in.readBoolean() ? in.readLong() : null;
+            String username = in.readUTF();
+
+            long[] roleIds = new long[in.readUnsignedShort()];
+
+            for (int i = 0; i < roleIds.length; i++) {
+                roleIds[i] = in.readLong();
+            }
+
+            int authorityCount = in.readUnsignedShort();
+
+            List<GrantedAuthority> authorities = new ArrayList<>(authorityCount);
+
+            for (int i = 0; i < authorityCount; i++) {
+                authorities.add(new SimpleGrantedAuthority(in.readUTF()));
+            }
+
+            long authenticatedAt = in.readLong();
+            String remoteAddress = in.readBoolean() ? in.readUTF() : null;
+
+            AccountPrincipal principal = new AccountPrincipal(id, username, roleIds);
+
+            if (type == FORM) {
+
+                FormAuthenticationToken token = new FormAuthenticationToken(principal, null,
+                    authorities);
+
+                token.setDetails(new StoredAuthenticationDetails(remoteAddress, authenticatedAt));
+
+                return token;
+            }
+
+            if (type == AJAX) {
+
+                AjaxAuthenticationToken token = new AjaxAuthenticationToken(principal, null,
+                    authorities);
+
+                token.setDetails(new StoredAuthenticationDetails(remoteAddress, authenticatedAt));
+
+                return token;
+            }
+
+            return null;
+
+        } catch (IOException e) {
+            log.debug("invalid security context. ({})", e.getMessage());
+            return null;
+        }
+    }
+
+    private static byte typeOf(Authentication authentication) {
+
+        if (!authentication.isAuthenticated()) {
+            return 0;
+        }
+
+        // FormAuthenticationToken 은 UsernamePasswordAuthenticationToken 의 하위 class 이므로 정확한 class 로 비교
+        if (authentication.getClass() == FormAuthenticationToken.class) {
+            return FORM;
+        }
+
+        if (authentication.getClass() == AjaxAuthenticationToken.class) {
+            return AJAX;
+        }
+
+        return 0;
+    }
+
+    /**
+     * 처음 저장하는 경우 현재 시각을 인증 시각으로 사용
+     */
+    private static StoredAuthenticationDetails detailsOf(Object details) {
+
+        if (details instanceof StoredAuthenticationDetails) {
+            return (StoredAuthenticationDetails) details;
+        }
+
+        String remoteAddress = details instanceof WebAuthenticationDetails
+            ? ((WebAuthenticationDetails) details).getRemoteAddress()
+            : null;
+
+        return new StoredAuthenticationDetails(remoteAddress, System.currentTimeMillis());
+    }
+}
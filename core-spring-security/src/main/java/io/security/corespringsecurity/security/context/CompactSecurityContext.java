@@ -0,0 +1,87 @@
+package io.security.corespringsecurity.security.context;
+
+import java.util.Objects;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+
+/**
+ * Session 의 byte[] 로 부터 생성한 SecurityContext
+ *
+ * <pre>
+ *      - 처음 getAuthentication() 을 호출할 때 decode (요청 당 한번)
+ *          - 인증 정보를 사용하지 않는 요청은 decode 하지 않는다.
+ *      - setAuthentication() 이 호출된 경우에만 변경된 것으로 판단
+ *          - 변경되지 않은 경우 요청이 끝나도 Session 에 다시 저장하지 않는다.
+ * </pre>
+ */
+public class CompactSecurityContext implements SecurityContext {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient AuthenticationCodec codec;
+
+    private byte[] encoded;
+
+    private Authentication authentication;
+
+    private volatile boolean decoded;
+    private volatile boolean changed;
+
+    public CompactSecurityContext(AuthenticationCodec codec, byte[] encoded) {
+        this.codec = codec;
+        this.encoded = encoded;
+    }
+
+    @Override
+    public Authentication getAuthentication() {
+
+        if (!decoded) {
+            decode();
+        }
+
+        return authentication;
+    }
+
+    @Override
+    public synchronized void setAuthentication(Authentication authentication) {
+        this.authentication = authentication;
+        this.encoded = null;
+        this.decoded = true;
+        this.changed = true;
+    }
+
+    private synchronized void decode() {
+
+        if (!decoded) {
+            authentication = codec.decode(encoded);
+            encoded = null;
+            decoded = true;
+        }
+    }
+
+    public boolean isChanged() {
+        return changed;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof SecurityContext)) {
+            return false;
+        }
+        return Objects.equals(getAuthentication(), ((SecurityContext) o).getAuthentication());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(getAuthentication());
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " [Authentication=" + getAuthentication() + "]";
+    }
+}
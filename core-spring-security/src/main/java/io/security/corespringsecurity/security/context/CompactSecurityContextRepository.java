@@ -0,0 +1,182 @@
+package io.security.corespringsecurity.security.context;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Arrays;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
+
+import org.springframework.security.authentication.AuthenticationTrustResolver;
+import org.springframework.security.authentication.AuthenticationTrustResolverImpl;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.context.HttpRequestResponseHolder;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.security.web.context.SaveContextOnUpdateOrErrorResponseWrapper;
+import org.springframework.security.web.context.SecurityContextRepository;
+import org.springframework.web.util.WebUtils;
+
+/**
+ * Session 에 SecurityContext 를 byte[] 로 저장하는 SecurityContextRepository
+ *
+ * <pre>
+ *      - HttpSessionSecurityContextRepository 는 SecurityContext 객체 전체를 Session 에 저장
+ *          - Session 을 복제하거나 외부 저장소에 저장할 때 객체 전체가 Java 직렬화된다.
+ *      - AuthenticationCodec 으로 변환한 byte[] 만 저장 (principal id, 권한, 인증 시각, Client IP)
+ *      - 조회 (loadContext) 는 byte[] 만 꺼내고, decode 는 처음 사용할 때 한다. (CompactSecurityContext)
+ *      - 저장 (saveContext) 은 변경된 경우에만 한다.
+ *          - 조회한 SecurityContext 가 변경되지 않았거나 encode 결과가 Session 의 값과 같으면 setAttribute() 하지 않는다.
+ *      - AuthenticationCodec 이 지원하지 않는 Authentication 은 기존 방식 (SPRING_SECURITY_CONTEXT) 으로 저장
+ *      - 응답이 commit 되기 전에 저장 (SaveContextOnUpdateOrErrorResponseWrapper)
+ *          - 응답이 commit 된 후에는 Session 을 새로 만들 수 없기 때문
+ * </pre>
+ */
+@Slf4j
+public class CompactSecurityContextRepository implements SecurityContextRepository {
+
+    public static final String SECURITY_CONTEXT_ATTRIBUTE = "SPRING_SECURITY_CONTEXT_COMPACT";
+
+    private static final String FALLBACK_ATTRIBUTE = HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY;
+
+    private final AuthenticationCodec codec = new AuthenticationCodec();
+
+    private final AuthenticationTrustResolver trustResolver = new AuthenticationTrustResolverImpl();
+
+    @Override
+    public SecurityContext loadContext(HttpRequestResponseHolder requestResponseHolder) {
+
+        HttpServletRequest request = requestResponseHolder.getRequest();
+        HttpServletResponse response = requestResponseHolder.getResponse();
+
+        requestResponseHolder.setResponse(new SaveToSessionResponseWrapper(response, request));
+
+        HttpSession session = request.getSession(false);
+
+        if (session == null) {
+            return SecurityContextHolder.createEmptyContext();
+        }
+
+        Object encoded = session.getAttribute(SECURITY_CONTEXT_ATTRIBUTE);
+
+        if (encoded instanceof byte[]) {
+            return new CompactSecurityContext(codec, (byte[]) encoded);
+        }
+
+        Object context = session.getAttribute(FALLBACK_ATTRIBUTE);
+
+        if (context instanceof SecurityContext) {
+            return (SecurityContext) context;
+        }
+
+        return SecurityContextHolder.createEmptyContext();
+    }
+
+    @Override
+    public void saveContext(SecurityContext context, HttpServletRequest request,
+        HttpServletResponse response) {
+
+        SaveToSessionResponseWrapper wrapper = WebUtils.getNativeResponse(response,
+            SaveToSessionResponseWrapper.class);
+
+        if (wrapper == null) {
+            save(context, request, !response.isCommitted());
+            return;
+        }
+
+        // 응답 commit 시 이미 저장한 경우
+        if (!wrapper.isContextSaved()) {
+            wrapper.saveContext(context);
+        }
+    }
+
+    @Override
+    public boolean containsContext(HttpServletRequest request) {
+
+        HttpSession session = request.getSession(false);
+
+        if (session == null) {
+            return false;
+        }
+
+        return session.getAttribute(SECURITY_CONTEXT_ATTRIBUTE) != null
+            || session.getAttribute(FALLBACK_ATTRIBUTE) != null;
+    }
+
+    private void save(SecurityContext context, HttpServletRequest request,
+        boolean allowSessionCreation) {
+
+        // 조회한 그대로이면 저장하지 않는다.
+        if (context instanceof CompactSecurityContext && !((CompactSecurityContext) context).isChanged()) {
+            return;
+        }
+
+        HttpSession session = request.getSession(false);
+
+        Authentication authentication = context.getAuthentication();
+
+        if (authentication == null || trustResolver.isAnonymous(authentication)) {
+
+            if (session != null) {
+                removeAttribute(session, SECURITY_CONTEXT_ATTRIBUTE);
+                removeAttribute(session, FALLBACK_ATTRIBUTE);
+            }
+
+            return;
+        }
+
+        if (session == null) {
+
+            if (!allowSessionCreation) {
+                log.debug("response is committed. can not create session to store security context.");
+                return;
+            }
+
+            session = request.getSession(true);
+        }
+
+        byte[] encoded = codec.encode(authentication);
+
+        if (encoded == null) {
+            session.setAttribute(FALLBACK_ATTRIBUTE, context);
+            removeAttribute(session, SECURITY_CONTEXT_ATTRIBUTE);
+            return;
+        }
+
+        Object stored = session.getAttribute(SECURITY_CONTEXT_ATTRIBUTE);
+
+        if (stored instanceof byte[] && Arrays.equals((byte[]) stored, encoded)) {
+            return;
+        }
+
+        session.setAttribute(SECURITY_CONTEXT_ATTRIBUTE, encoded);
+        removeAttribute(session, FALLBACK_ATTRIBUTE);
+    }
+
+    // ! 없는 attribute 의 removeAttribute() 도 Session 저장소에 따라 쓰기가 발생할 수 있다.
+    private static void removeAttribute(HttpSession session, String name) {
+
+        if (session.getAttribute(name) != null) {
+            session.removeAttribute(name);
+        }
+    }
+
+    private final class SaveToSessionResponseWrapper extends
+        SaveContextOnUpdateOrErrorResponseWrapper {
+
+        private final HttpServletRequest request;
+
+        private SaveToSessionResponseWrapper(HttpServletResponse response,
+            HttpServletRequest request) {
+            super(response, false);
+            this.request = request;
+        }
+
+        @Override
+        protected void saveContext(SecurityContext context) {
+            save(context, request, !isCommitted());
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package io.security.corespringsecurity.security.context;
+
+import java.io.Serializable;
+
+/**
+ * Session 에서 복원한 Authentication 의 details
+ *
+ * <pre>
+ *      - 인증 시점의 WebAuthenticationDetails 중 인증 이후에도 사용하는 값만 보관
+ *          - remoteAddress : 인증 시점의 Client IP (IpAddressVoter 에서 Method 보안 시 사용)
+ *          - authenticatedAt : 인증 시각 (epoch millis)
+ * </pre>
+ */
+public final class StoredAuthenticationDetails implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String remoteAddress;
+    private final long authenticatedAt;
+
+    public StoredAuthenticationDetails(String remoteAddress, long authenticatedAt) {
+        this.remoteAddress = remoteAddress;
+        this.authenticatedAt = authenticatedAt;
+    }
+
+    public String getRemoteAddress() {
+        return remoteAddress;
+    }
+
+    public long getAuthenticatedAt() {
+        return authenticatedAt;
+    }
+}
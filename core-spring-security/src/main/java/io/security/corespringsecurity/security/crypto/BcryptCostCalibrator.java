@@ -0,0 +1,62 @@
+package io.security.corespringsecurity.security.crypto;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * bcrypt cost 보정
+ *
+ * <pre>
+ *      - bcrypt 는 cost 가 1 증가할 때마다 hash 시간이 2배가 된다.
+ *      - 현재 서버에서 직접 hash 시간을 측정하여 목표 시간 (ex. 50ms) 에 가장 가까운 cost 를 선택
+ *          - 최소 cost 부터 목표 시간을 넘을 때까지 한번씩 측정하므로 보정 시간은 목표 시간의 약 2배
+ *      - 서버 사양이 바뀌면 다음 시작 시 cost 가 다시 결정된다.
+ * </pre>
+ */
+@Slf4j
+public final class BcryptCostCalibrator {
+
+    private static final String SAMPLE_PASSWORD = "calibration-sample-password";
+
+    private BcryptCostCalibrator() {
+    }
+
+    public static int calibrate(long targetMillis, int minCost, int maxCost) {
+
+        // JIT 이전의 첫 측정은 느리므로 가장 낮은 cost 로 한번 실행
+        new BCryptPasswordEncoder(4).encode(SAMPLE_PASSWORD);
+
+        long targetNanos = targetMillis * 1_000_000L;
+
+        int selectedCost = minCost;
+        long selectedNanos = measure(minCost);
+
+        for (int cost = minCost + 1; cost <= maxCost && selectedNanos < targetNanos; cost++) {
+
+            long elapsedNanos = measure(cost);
+
+            // 목표 시간에 더 가까운 cost 선택
+            if (Math.abs(elapsedNanos - targetNanos) > Math.abs(selectedNanos - targetNanos)) {
+                break;
+            }
+
+            selectedCost = cost;
+            selectedNanos = elapsedNanos;
+        }
+
+        log.info("bcrypt cost calibrated. (cost={}, hashTime={}ms, target={}ms)", selectedCost,
+            selectedNanos / 1_000_000L, targetMillis);
+
+        return selectedCost;
+    }
+
+    private static long measure(int cost) {
+
+        long startedAt = System.nanoTime();
+
+        new BCryptPasswordEncoder(cost).encode(SAMPLE_PASSWORD);
+
+        return System.nanoTime() - startedAt;
+    }
+}
@@ -0,0 +1,78 @@
+package io.security.corespringsecurity.security.crypto;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * 로그인 성공 시 비밀번호 재암호화
+ *
+ * <pre>
+ *      - 저장된 hash 가 현재 설정 (알고리즘, bcrypt cost) 보다 오래된 경우 passwordEncoder.upgradeEncoding() 이 true
+ *      - 로그인 요청을 기다리게 하지 않도록 별도의 Thread 에서 encode 후 UserDetailsPasswordService 로 저장
+ *          - 대기열이 가득 차면 버리고 다음 로그인 때 다시 시도
+ * </pre>
+ */
+@Slf4j
+public class PasswordUpgrader {
+
+    private static final int QUEUE_CAPACITY = 100;
+
+    private final PasswordEncoder passwordEncoder;
+    private final UserDetailsPasswordService userDetailsPasswordService;
+
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0L,
+        TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(QUEUE_CAPACITY), runnable -> {
+
+        Thread thread = new Thread(runnable, "password-upgrade");
+
+        thread.setDaemon(true);
+
+        return thread;
+    });
+
+    public PasswordUpgrader(PasswordEncoder passwordEncoder,
+        UserDetailsPasswordService userDetailsPasswordService) {
+        this.passwordEncoder = passwordEncoder;
+        this.userDetailsPasswordService = userDetailsPasswordService;
+    }
+
+    /**
+     * ! 비밀번호 검증이 끝난 후에만 호출
+     */
+    public void upgradeIfNeeded(UserDetails user, String rawPassword) {
+
+        if (!passwordEncoder.upgradeEncoding(user.getPassword())) {
+            return;
+        }
+
+        try {
+            executor.execute(() -> upgrade(user, rawPassword));
+        } catch (RejectedExecutionException e) {
+            log.debug("password upgrade queue is full. (username={})", user.getUsername());
+        }
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private void upgrade(UserDetails user, String rawPassword) {
+
+        try {
+            userDetailsPasswordService.updatePassword(user, passwordEncoder.encode(rawPassword));
+
+            log.debug("password encoding upgraded. (username={})", user.getUsername());
+
+        } catch (RuntimeException e) {
+            log.warn("failed to upgrade password encoding. (username={})", user.getUsername(), e);
+        }
+    }
+}
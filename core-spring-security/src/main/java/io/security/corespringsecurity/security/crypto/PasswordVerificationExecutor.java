@@ -0,0 +1,146 @@
+package io.security.corespringsecurity.security.crypto;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import io.security.corespringsecurity.security.properties.PasswordHashProperties;
+
+/**
+ * 비밀번호 검증 전용 Thread Pool
+ *
+ * <pre>
+ *      - bcrypt 등의 passwordEncoder.matches() 는 CPU 를 오래 사용한다.
+ *          - 로그인 요청이 몰리면 요청 Thread 가 모두 hash 계산에 묶여 다른 요청을 처리하지 못한다.
+ *      - 고정된 크기의 Thread Pool 과 크기가 제한된 대기열에서만 계산
+ *          - 대기열이 가득 차면 바로 PasswordVerificationRejectedException (503, Retry-After)
+ *      - 대기열 길이, 대기 시간, hash 계산 시간 제공
+ * </pre>
+ */
+@Slf4j
+public class PasswordVerificationExecutor {
+
+    private final PasswordEncoder passwordEncoder;
+    private final int retryAfterSeconds;
+
+    private final ThreadPoolExecutor executor;
+
+    private final LongAdder completedCount = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAdder hashNanos = new LongAdder();
+
+    public PasswordVerificationExecutor(PasswordEncoder passwordEncoder,
+        PasswordHashProperties properties) {
+
+        this.passwordEncoder = passwordEncoder;
+        this.retryAfterSeconds = properties.getRetryAfterSeconds();
+
+        this.executor = new ThreadPoolExecutor(properties.getPoolSize(), properties.getPoolSize(),
+            0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+            new PasswordHashThreadFactory(), new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+
+        long submittedAt = System.nanoTime();
+
+        Future<Boolean> result;
+
+        try {
+            result = executor.submit(() -> {
+
+                long startedAt = System.nanoTime();
+
+                waitNanos.add(startedAt - submittedAt);
+
+                try {
+                    return passwordEncoder.matches(rawPassword, encodedPassword);
+                } finally {
+                    hashNanos.add(System.nanoTime() - startedAt);
+                    completedCount.increment();
+                }
+            });
+
+        } catch (RejectedExecutionException e) {
+
+            rejectedCount.increment();
+
+            throw new PasswordVerificationRejectedException(
+                "Too many login requests. Try again later.", retryAfterSeconds);
+        }
+
+        try {
+            return result.get();
+
+        } catch (InterruptedException e) {
+
+            Thread.currentThread().interrupt();
+            result.cancel(true);
+
+            throw new AuthenticationServiceException("Password verification interrupted.", e);
+
+        } catch (ExecutionException e) {
+
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+
+            throw new AuthenticationServiceException("Password verification failed.", e.getCause());
+        }
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    public long getCompletedCount() {
+        return completedCount.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    public long getTotalWaitNanos() {
+        return waitNanos.sum();
+    }
+
+    public long getTotalHashNanos() {
+        return hashNanos.sum();
+    }
+
+    private static final class PasswordHashThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger sequence = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+
+            Thread thread = new Thread(runnable, "password-hash-" + sequence.incrementAndGet());
+
+            thread.setDaemon(true);
+
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package io.security.corespringsecurity.security.crypto;
+
+import org.springframework.security.authentication.AuthenticationServiceException;
+
+/**
+ * 비밀번호 검증 대기열이 가득 찬 경우
+ *
+ * <pre>
+ *      - 인증 실패가 아닌 일시적인 서비스 불가 (503)
+ *      - retryAfterSeconds 는 Retry-After Header 로 전달
+ * </pre>
+ */
+public class PasswordVerificationRejectedException extends AuthenticationServiceException {
+
+    private final int retryAfterSeconds;
+
+    public PasswordVerificationRejectedException(String msg, int retryAfterSeconds) {
+        super(msg);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -3,12 +3,10 @@ package io.security.corespringsecurity.security.factory;
 import lombok.RequiredArgsConstructor;
 
 import java.util.List;
-import java.util.Map;
 
 import org.springframework.beans.factory.FactoryBean;
-import org.springframework.security.access.ConfigAttribute;
-import org.springframework.security.web.util.matcher.RequestMatcher;
 
+import io.security.corespringsecurity.security.metadatasource.UrlSecurityRule;
 import io.security.corespringsecurity.security.service.SecurityResourceService;
 
 /**
@@ -18,29 +16,30 @@ import io.security.corespringsecurity.security.service.SecurityResourceService;
  * <pre>
  *      - UrlResourcesMapFactoryBean
  *          - DB 로 부터 얻는 권한/자원 정보를 RequestMap 을 Bean 으로 생성해서 UrlFilterInvocationSecurityMetadataSource 에 전달
+ *          - 자원 정보는 orderNum desc 순서의 UrlSecurityRule 목록 (HttpMethod 포함)
  * </pre>
  */
 @RequiredArgsConstructor
 public class UrlResourcesMapFactoryBean implements
-    FactoryBean<Map<RequestMatcher, List<ConfigAttribute>>> {
+    FactoryBean<List<UrlSecurityRule>> {
 
     private final SecurityResourceService securityResourceService;
-    private Map<RequestMatcher, List<ConfigAttribute>> resourceMap;
+    private List<UrlSecurityRule> resourceList;
 
     @Override
-    public Map<RequestMatcher, List<ConfigAttribute>> getObject() {
+    public List<UrlSecurityRule> getObject() {
 
-        if (resourceMap == null) {
+        if (resourceList == null) {
             // 데이터가 없는 경우 DB 로 부터 가져오도록 설정
             init();
         }
 
-        return resourceMap;
+        return resourceList;
     }
 
     @Override
     public Class<?> getObjectType() {
-        return Map.class;
+        return List.class;
     }
 
     @Override
@@ -49,6 +48,6 @@ public class UrlResourcesMapFactoryBean implements
     }
 
     private void init() {
-        resourceMap = securityResourceService.getResourceList();
+        resourceList = securityResourceService.getResourceList();
     }
 }
@@ -0,0 +1,67 @@
+package io.security.corespringsecurity.security.filer;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import io.security.corespringsecurity.security.token.ApiTokenService;
+
+/**
+ * /api/** 무상태 인증 - Token 검증
+ *
+ * <pre>
+ *      - Authorization: Bearer {token} 의 Token 을 검증하여 SecurityContext 에 Authentication 저장
+ *          - Session, DB 를 조회하지 않는다.
+ *      - Token 이 없거나 유효하지 않으면 인증되지 않은 상태로 다음 Filter 진행
+ *          - 인증이 필요한 자원이면 AuthenticationEntryPoint (401)
+ * </pre>
+ */
+@Slf4j
+public class ApiTokenAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER = "Bearer ";
+
+    private final ApiTokenService apiTokenService;
+
+    public ApiTokenAuthenticationFilter(ApiTokenService apiTokenService) {
+        this.apiTokenService = apiTokenService;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+        FilterChain filterChain) throws ServletException, IOException {
+
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+
+        if (header != null && header.regionMatches(true, 0, BEARER, 0, BEARER.length())) {
+
+            Authentication authentication = apiTokenService.verify(
+                header.substring(BEARER.length()).trim());
+
+            if (authentication != null) {
+
+                SecurityContext context = SecurityContextHolder.createEmptyContext();
+
+                context.setAuthentication(authentication);
+
+                SecurityContextHolder.setContext(context);
+
+            } else {
+                log.debug("invalid api token.");
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+}
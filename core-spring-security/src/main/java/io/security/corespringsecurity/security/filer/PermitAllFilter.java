@@ -1,23 +1,21 @@
 package io.security.corespringsecurity.security.filer;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
 
 import javax.servlet.ServletException;
-import javax.servlet.http.HttpServletRequest;
 
 import org.springframework.security.access.intercept.InterceptorStatusToken;
 import org.springframework.security.web.FilterInvocation;
 import org.springframework.security.web.access.intercept.FilterSecurityInterceptor;
-import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
-import org.springframework.security.web.util.matcher.RequestMatcher;
 
 /**
  * URL 방식 - PermitAllFilter 구현
  *
  * <pre>
  *      - 인증 및 권한 심사를 할 필요가 없는 자원 (/, /home, /login, ...) 들을 미리 설정해서 바로 리소스 접근이 가능하게 하는 필터
+ *      - permitAll 자원은 UrlFilterInvocationSecurityMetadataSource 의 Index 에 bypass 계층으로 함께 컴파일된다.
+ *          - 별도의 RequestMatcher 순차 탐색 없이 한번의 조회로 결정
+ *          - permitAll 자원은 비어있는 권한 정보를 반환하므로 beforeInvocation() 이 null 을 반환하여 권한 심사를 하지 않는다.
  * </pre>
  */
 public class PermitAllFilter extends FilterSecurityInterceptor {
@@ -25,40 +23,6 @@ public class PermitAllFilter extends FilterSecurityInterceptor {
     private static final String FILTER_APPLIED = "__spring_security_filterSecurityInterceptor_filterApplied";
     private boolean observeOncePerRequest = true;
 
-    private final List<RequestMatcher> permitAllRequestMatchers = new ArrayList<>();
-
-    public PermitAllFilter(String... permitAllResources) {
-
-        for (String permitAllResource : permitAllResources) {
-            permitAllRequestMatchers.add(new AntPathRequestMatcher(permitAllResource));
-        }
-
-    }
-
-    @Override
-    protected InterceptorStatusToken beforeInvocation(Object object) {
-
-        boolean permitAll = false;
-
-        HttpServletRequest request = ((FilterInvocation) object).getRequest();
-
-        for (RequestMatcher requestMatcher : permitAllRequestMatchers) {
-
-            if (requestMatcher.matches(request)) {
-                permitAll = true;
-                break;
-            }
-
-        }
-
-        // ! null 를 return 함으로써 권한 심사를 하지 않도록 한다.
-        if (permitAll) {
-            return null;
-        }
-
-        return super.beforeInvocation(object);
-    }
-
     @Override
     public void invoke(FilterInvocation filterInvocation) throws IOException, ServletException {
         if (isApplied(filterInvocation) && this.observeOncePerRequest) {
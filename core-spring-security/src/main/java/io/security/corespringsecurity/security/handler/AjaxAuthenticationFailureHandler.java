@@ -6,6 +6,7 @@ import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -17,6 +18,8 @@ import org.springframework.security.web.authentication.AuthenticationFailureHand
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import io.security.corespringsecurity.security.crypto.PasswordVerificationRejectedException;
+
 public class AjaxAuthenticationFailureHandler implements AuthenticationFailureHandler {
 
     private final ObjectMapper objectMapper = new ObjectMapper();
@@ -30,7 +33,13 @@ public class AjaxAuthenticationFailureHandler implements AuthenticationFailureHa
         response.setStatus(HttpStatus.UNAUTHORIZED.value());
         response.setContentType(MediaType.APPLICATION_JSON_VALUE);
 
-        if (exception instanceof BadCredentialsException) {
+        if (exception instanceof PasswordVerificationRejectedException) {
+            // 비밀번호 검증 대기열이 가득 찬 경우 인증 실패가 아닌 503
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(
+                ((PasswordVerificationRejectedException) exception).getRetryAfterSeconds()));
+            errorMessage = exception.getMessage();
+        } else if (exception instanceof BadCredentialsException) {
             errorMessage = "Invalid Username or Password";
         } else if (exception instanceof DisabledException) {
             errorMessage = "Locked";
@@ -6,6 +6,7 @@ import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.core.Authentication;
@@ -13,22 +14,46 @@ import org.springframework.security.web.authentication.AuthenticationSuccessHand
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
-import io.security.corespringsecurity.domain.entity.Account;
+import io.security.corespringsecurity.security.service.AccountPrincipal;
+import io.security.corespringsecurity.security.token.ApiTokenService;
 
 public class AjaxAuthenticationSuccessHandler implements AuthenticationSuccessHandler {
 
     private final ObjectMapper objectMapper = new ObjectMapper();
 
+    // 무상태 인증을 사용하지 않으면 null
+    private final ApiTokenService apiTokenService;
+
+    public AjaxAuthenticationSuccessHandler() {
+        this(null);
+    }
+
+    /**
+     * 무상태 인증 - Authorization 응답 Header 로 Token 발급
+     */
+    public AjaxAuthenticationSuccessHandler(ApiTokenService apiTokenService) {
+        this.apiTokenService = apiTokenService;
+    }
+
     @Override
     public void onAuthenticationSuccess(HttpServletRequest request, HttpServletResponse response,
         Authentication authentication) throws IOException, ServletException {
 
-        Account account = (Account) authentication.getPrincipal();
+        AccountPrincipal principal = (AccountPrincipal) authentication.getPrincipal();
+
+        if (apiTokenService != null) {
+
+            String token = apiTokenService.issue(authentication);
+
+            if (token != null) {
+                response.setHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+            }
+        }
 
         response.setStatus(HttpStatus.OK.value());
         response.setContentType(MediaType.APPLICATION_JSON_VALUE);
 
-        objectMapper.writeValue(response.getWriter(), account);
+        objectMapper.writeValue(response.getWriter(), principal);
 
     }
 }
@@ -0,0 +1,50 @@
+package io.security.corespringsecurity.security.handler;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.authentication.logout.LogoutHandler;
+
+import io.security.corespringsecurity.security.token.ApiTokenClaims;
+import io.security.corespringsecurity.security.token.ApiTokenRevocationList;
+import io.security.corespringsecurity.security.token.ApiTokenService;
+
+/**
+ * 무상태 인증 - 로그아웃 시 요청의 Token 폐기
+ *
+ * <pre>
+ *      - LogoutFilter 는 Token 검증 Filter 보다 먼저 실행되므로 Authorization Header 를 직접 확인
+ * </pre>
+ */
+public class ApiTokenLogoutHandler implements LogoutHandler {
+
+    private static final String BEARER = "Bearer ";
+
+    private final ApiTokenService apiTokenService;
+    private final ApiTokenRevocationList revocationList;
+
+    public ApiTokenLogoutHandler(ApiTokenService apiTokenService,
+        ApiTokenRevocationList revocationList) {
+        this.apiTokenService = apiTokenService;
+        this.revocationList = revocationList;
+    }
+
+    @Override
+    public void logout(HttpServletRequest request, HttpServletResponse response,
+        Authentication authentication) {
+
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+
+        if (header == null || !header.regionMatches(true, 0, BEARER, 0, BEARER.length())) {
+            return;
+        }
+
+        ApiTokenClaims claims = apiTokenService.parse(header.substring(BEARER.length()).trim());
+
+        if (claims != null) {
+            revocationList.revokeToken(claims);
+        }
+    }
+}
@@ -6,17 +6,29 @@ import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.InsufficientAuthenticationException;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.web.authentication.SimpleUrlAuthenticationFailureHandler;
 
+import io.security.corespringsecurity.security.crypto.PasswordVerificationRejectedException;
+
 public class CustomAuthenticationFailureHandler extends SimpleUrlAuthenticationFailureHandler {
 
     @Override
     public void onAuthenticationFailure(HttpServletRequest request, HttpServletResponse response,
         AuthenticationException exception) throws IOException, ServletException {
 
+        // 비밀번호 검증 대기열이 가득 찬 경우 인증 실패가 아닌 503
+        if (exception instanceof PasswordVerificationRejectedException) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(
+                ((PasswordVerificationRejectedException) exception).getRetryAfterSeconds()));
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), exception.getMessage());
+            return;
+        }
+
         String errorMessage = "Invalid Username or Password";
 
         if (exception instanceof BadCredentialsException) {
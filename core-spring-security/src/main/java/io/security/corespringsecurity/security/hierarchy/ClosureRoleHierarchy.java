@@ -0,0 +1,191 @@
+package io.security.corespringsecurity.security.hierarchy;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.security.access.hierarchicalroles.RoleHierarchy;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+/**
+ * URL 방식 - 권한 계층 (RoleHierarchy) 구현
+ *
+ * <pre>
+ *      - RoleHierarchyImpl 은 "ROLE_A > ROLE_B" 문자열을 parsing 하여 계층을 구성
+ *      - DB (ROLE_HIERARCHY) 의 상위 -> 하위 관계를 받아 권한 별로 도달 가능한 모든 권한 (자신 포함) 을 미리 계산
+ *          - getReachableGrantedAuthorities() 는 계층 탐색 없이 table 조회
+ *      - 계산된 table 은 변경되지 않으며, 계층이 변경되면 새로운 table 로 한번에 교체
+ *      - 순환 (ROLE_A > ROLE_B > ROLE_A) 이 있으면 기존 table 을 유지하고 예외 발생
+ *      - 도달 가능한 권한은 RoleBits 로도 계산하여 RoleBitSetVoter 에 제공
+ *          - table 이 교체될 때마다 version 증가
+ * </pre>
+ */
+@Slf4j
+public class ClosureRoleHierarchy implements RoleHierarchy {
+
+    private final AtomicLong versionSequence = new AtomicLong();
+
+    private volatile Table table = new Table(0, Collections.emptyMap(), Collections.emptyMap());
+
+    @Override
+    public Collection<GrantedAuthority> getReachableGrantedAuthorities(
+        Collection<? extends GrantedAuthority> authorities) {
+
+        if (authorities == null || authorities.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Map<String, List<GrantedAuthority>> reachableAuthorities = this.table.reachableAuthorities;
+
+        // 대부분의 사용자는 권한이 하나이므로 계산된 목록을 그대로 반환
+        if (authorities.size() == 1) {
+
+            GrantedAuthority authority = authorities.iterator().next();
+
+            List<GrantedAuthority> reachable = reachableAuthorities.get(authority.getAuthority());
+
+            return reachable != null ? reachable : Collections.singletonList(authority);
+        }
+
+        Set<GrantedAuthority> result = new LinkedHashSet<>();
+
+        for (GrantedAuthority authority : authorities) {
+
+            List<GrantedAuthority> reachable = reachableAuthorities.get(authority.getAuthority());
+
+            if (reachable != null) {
+                result.addAll(reachable);
+            } else {
+                result.add(authority);
+            }
+        }
+
+        return new ArrayList<>(result);
+    }
+
+    /**
+     * 권한 계층이 적용된 사용자 권한의 RoleBits
+     */
+    public ExpandedRoleBits getReachableRoleBits(
+        Collection<? extends GrantedAuthority> authorities) {
+
+        Table current = this.table;
+
+        RoleBits roleBits = RoleBits.EMPTY;
+
+        if (authorities != null) {
+
+            for (GrantedAuthority authority : authorities) {
+
+                if (authority.getAuthority() == null) {
+                    continue;
+                }
+
+                RoleBits reachable = current.reachableBits.get(authority.getAuthority());
+
+                roleBits = roleBits.or(
+                    reachable != null ? reachable : RoleBits.of(authority.getAuthority()));
+            }
+        }
+
+        return new ExpandedRoleBits(current.version, roleBits);
+    }
+
+    public long getVersion() {
+        return table.version;
+    }
+
+    /**
+     * 권한 계층 교체
+     *
+     * @param hierarchy 상위 권한 -> 직속 하위 권한 목록
+     */
+    public void setHierarchy(Map<String, ? extends Collection<String>> hierarchy) {
+
+        Map<String, List<GrantedAuthority>> reachableAuthorities = new HashMap<>();
+        Map<String, RoleBits> reachableBits = new HashMap<>();
+
+        for (String role : hierarchy.keySet()) {
+
+            List<GrantedAuthority> reachable = closure(role, hierarchy);
+
+            List<String> roleNames = new ArrayList<>(reachable.size());
+
+            reachable.forEach(authority -> roleNames.add(authority.getAuthority()));
+
+            reachableAuthorities.put(role, Collections.unmodifiableList(reachable));
+            reachableBits.put(role, RoleBits.of(roleNames));
+        }
+
+        this.table = new Table(versionSequence.incrementAndGet(),
+            Collections.unmodifiableMap(reachableAuthorities),
+            Collections.unmodifiableMap(reachableBits));
+
+        log.debug("role hierarchy reachable authorities. ({})", reachableAuthorities);
+    }
+
+    /**
+     * role 에서 도달 가능한 모든 권한 (자신 포함)
+     */
+    private static List<GrantedAuthority> closure(String role,
+        Map<String, ? extends Collection<String>> hierarchy) {
+
+        Set<String> visited = new LinkedHashSet<>();
+        Deque<String> stack = new ArrayDeque<>();
+
+        visited.add(role);
+        stack.push(role);
+
+        while (!stack.isEmpty()) {
+
+            Collection<String> children = hierarchy.get(stack.pop());
+
+            if (children == null) {
+                continue;
+            }
+
+            for (String child : children) {
+
+                if (role.equals(child)) {
+                    throw new IllegalArgumentException(
+                        "cycle in role hierarchy. (role=" + role + ")");
+                }
+
+                if (visited.add(child)) {
+                    stack.push(child);
+                }
+            }
+        }
+
+        List<GrantedAuthority> reachable = new ArrayList<>(visited.size());
+
+        visited.forEach(name -> reachable.add(new SimpleGrantedAuthority(name)));
+
+        return reachable;
+    }
+
+    private static final class Table {
+
+        private final long version;
+        private final Map<String, List<GrantedAuthority>> reachableAuthorities;
+        private final Map<String, RoleBits> reachableBits;
+
+        private Table(long version, Map<String, List<GrantedAuthority>> reachableAuthorities,
+            Map<String, RoleBits> reachableBits) {
+            this.version = version;
+            this.reachableAuthorities = reachableAuthorities;
+            this.reachableBits = reachableBits;
+        }
+    }
+}
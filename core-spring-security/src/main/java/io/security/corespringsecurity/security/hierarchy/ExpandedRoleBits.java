@@ -0,0 +1,28 @@
+package io.security.corespringsecurity.security.hierarchy;
+
+/**
+ * 권한 계층이 적용된 사용자 권한 RoleBits
+ *
+ * <pre>
+ *      - 계산 당시의 권한 계층 version 을 함께 가진다.
+ *          - 권한 계층이 변경되면 version 이 달라지므로 다시 계산
+ * </pre>
+ */
+public final class ExpandedRoleBits {
+
+    private final long version;
+    private final RoleBits roleBits;
+
+    public ExpandedRoleBits(long version, RoleBits roleBits) {
+        this.version = version;
+        this.roleBits = roleBits;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public RoleBits getRoleBits() {
+        return roleBits;
+    }
+}
@@ -0,0 +1,103 @@
+package io.security.corespringsecurity.security.hierarchy;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * 권한 목록의 bitset 표현
+ *
+ * <pre>
+ *      - RoleIdRegistry 의 번호를 bit 위치로 사용하는 long[]
+ *      - 권한 문자열 비교 (자원 권한 수 x 사용자 권한 수) 대신 bit AND 한번으로 심사
+ *      - 불변 객체
+ * </pre>
+ */
+public final class RoleBits implements Serializable {
+
+    public static final RoleBits EMPTY = new RoleBits(new long[0]);
+
+    private final long[] words;
+
+    private RoleBits(long[] words) {
+        this.words = words;
+    }
+
+    public static RoleBits of(Collection<String> roleNames) {
+
+        long[] words = new long[0];
+
+        for (String roleName : roleNames) {
+            words = set(words, RoleIdRegistry.idOf(roleName));
+        }
+
+        return words.length == 0 ? EMPTY : new RoleBits(words);
+    }
+
+    public static RoleBits of(String roleName) {
+        return new RoleBits(set(new long[0], RoleIdRegistry.idOf(roleName)));
+    }
+
+    public RoleBits or(RoleBits other) {
+
+        if (other.words.length == 0) {
+            return this;
+        }
+
+        if (words.length == 0) {
+            return other;
+        }
+
+        long[] result = Arrays.copyOf(words, Math.max(words.length, other.words.length));
+
+        for (int i = 0; i < other.words.length; i++) {
+            result[i] |= other.words[i];
+        }
+
+        return new RoleBits(result);
+    }
+
+    public boolean intersects(RoleBits other) {
+
+        int length = Math.min(words.length, other.words.length);
+
+        for (int i = 0; i < length; i++) {
+            if ((words[i] & other.words[i]) != 0) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    public boolean isEmpty() {
+        return words.length == 0;
+    }
+
+    private static long[] set(long[] words, int roleId) {
+
+        int index = roleId >>> 6;
+
+        long[] result = index < words.length ? words : Arrays.copyOf(words, index + 1);
+
+        result[index] |= 1L << roleId;
+
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RoleBits)) {
+            return false;
+        }
+        return Arrays.equals(words, ((RoleBits) o).words);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(words);
+    }
+}
@@ -0,0 +1,44 @@
+package io.security.corespringsecurity.security.hierarchy;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 권한 이름 -> 번호 (0, 1, 2, ...)
+ *
+ * <pre>
+ *      - 권한을 RoleBits 의 bit 위치로 사용하기 위해 빈 번호 없이 순서대로 부여
+ *      - 한번 부여된 번호는 변경되지 않는다.
+ *          - 이미 계산된 RoleBits 를 다시 계산하지 않아도 된다.
+ *      - 시작 시 ROLE 테이블의 모든 권한을 등록하고, 이후 처음 보는 권한은 조회 시 등록
+ * </pre>
+ */
+public final class RoleIdRegistry {
+
+    private static final ConcurrentMap<String, Integer> ROLE_IDS = new ConcurrentHashMap<>();
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    private RoleIdRegistry() {
+    }
+
+    public static int idOf(String roleName) {
+
+        Integer roleId = ROLE_IDS.get(roleName);
+
+        if (roleId != null) {
+            return roleId;
+        }
+
+        return ROLE_IDS.computeIfAbsent(roleName, key -> SEQUENCE.getAndIncrement());
+    }
+
+    public static void register(Collection<String> roleNames) {
+        roleNames.forEach(RoleIdRegistry::idOf);
+    }
+
+    public static int size() {
+        return SEQUENCE.get();
+    }
+}
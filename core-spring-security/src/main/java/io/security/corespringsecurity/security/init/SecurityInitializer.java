@@ -2,12 +2,17 @@ package io.security.corespringsecurity.security.init;
 
 import lombok.RequiredArgsConstructor;
 
+import java.util.stream.Collectors;
+
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
-import org.springframework.security.access.hierarchicalroles.RoleHierarchyImpl;
 import org.springframework.stereotype.Component;
 
+import io.security.corespringsecurity.domain.entity.Role;
+import io.security.corespringsecurity.security.hierarchy.RoleIdRegistry;
+import io.security.corespringsecurity.security.voter.IpAddressVoter;
 import io.security.corespringsecurity.service.role.RoleHierarchyService;
+import io.security.corespringsecurity.service.role.RoleService;
 
 /**
  * URL 방식 - 권한 계층 적용하기
@@ -21,6 +26,9 @@ import io.security.corespringsecurity.service.role.RoleHierarchyService;
  *
  *      - RoleHierarchyVoter
  *          - RoleHierarchy 를 생성자로 받으며 이 클래스에서 설정한 규칙이 적용되어 심사함
+ *
+ *      - 초기 데이터 (SetupDataLoader) 가 저장된 이후 허용 IP 목록 재조회
+ *      - 모든 권한에 RoleBits 번호 부여 (RoleBitSetVoter)
  * </pre>
  */
 @RequiredArgsConstructor
@@ -28,14 +36,20 @@ import io.security.corespringsecurity.service.role.RoleHierarchyService;
 public class SecurityInitializer implements ApplicationRunner {
 
     private final RoleHierarchyService roleHierarchyService;
+    private final RoleService roleService;
 
-    private final RoleHierarchyImpl roleHierarchy;
+    private final IpAddressVoter ipAddressVoter;
 
     @Override
     public void run(ApplicationArguments args) throws Exception {
 
-        String roleHierarchies = roleHierarchyService.findAllHierarchy();
+        RoleIdRegistry.register(roleService.getRoles().stream()
+            .map(Role::getRoleName)
+            .collect(Collectors.toList()));
+
+        // 권한 별 도달 가능한 권한을 미리 계산
+        roleHierarchyService.reloadRoleHierarchy();
 
-        roleHierarchy.setHierarchy(roleHierarchies);
+        ipAddressVoter.reload();
     }
 }
@@ -0,0 +1,258 @@
+package io.security.corespringsecurity.security.metadatasource;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+import org.springframework.core.MethodClassKey;
+import org.springframework.security.access.ConfigAttribute;
+import org.springframework.security.access.method.AbstractMethodSecurityMetadataSource;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.PatternMatchUtils;
+
+/**
+ * Method 방식 - 실행 중 변경 가능한 권한 정보
+ *
+ * <pre>
+ *      - MapBasedMethodSecurityMetadataSource 는 HashMap 이므로 요청 처리 중 변경하면 안전하지 않고, 삭제 기능이 없다.
+ *      - Class -> (Method 이름 -> 권한 목록) 불변 Table 을 volatile 로 교체
+ *          - 조회 : lock 없이 현재 Table 에서 Map 조회
+ *          - 추가, 삭제 : 변경된 Table 을 새로 만들어 한번에 교체 (copy-on-write)
+ *      - Method 이름은 MapBasedMethodSecurityMetadataSource 와 같이 * 를 사용할 수 있다. (ex. get*)
+ *      - 상위 Class 에 등록된 권한도 하위 Class 에 적용 (가까운 Class 우선)
+ *      - (Method, Class) 별 조회 결과를 Table 마다 ConcurrentHashMap 에 저장
+ *          - 권한이 없는 Method 도 NO_ATTRIBUTES 로 저장하여 다시 pattern 을 비교하지 않는다.
+ *          - Table 이 교체되면 version 이 증가하고 조회 결과도 새 Table 과 함께 비워진다.
+ *      - getAllConfigAttributes() 는 Table 생성 시 한번만 계산
+ *      - Bean 을 다시 등록하지 않는다.
+ *          - 대상 Bean 에는 시작 시 항상 CustomMethodSecurityInterceptor 가 적용되어 있다. (LiveMethodSecurityPostProcessor)
+ * </pre>
+ */
+@Slf4j
+public class LiveMethodSecurityMetadataSource extends AbstractMethodSecurityMetadataSource {
+
+    // 권한이 없는 Method 의 조회 결과 (ConcurrentHashMap 은 null 을 저장할 수 없다.)
+    private static final List<ConfigAttribute> NO_ATTRIBUTES = Collections.emptyList();
+
+    private volatile RuleTable table;
+
+    /**
+     * @param methodMap "package.Class.methodName" -> 권한 목록
+     */
+    public LiveMethodSecurityMetadataSource(Map<String, List<ConfigAttribute>> methodMap) {
+
+        Map<Class<?>, MethodRules> initial = new HashMap<>();
+
+        methodMap.forEach((name, attributes) -> {
+
+            int lastDotIndex = name.lastIndexOf('.');
+
+            Class<?> type = ClassUtils.resolveClassName(name.substring(0, lastDotIndex),
+                ClassUtils.getDefaultClassLoader());
+
+            initial.put(type, initial.getOrDefault(type, MethodRules.EMPTY)
+                .with(name.substring(lastDotIndex + 1), attributes));
+        });
+
+        this.table = new RuleTable(1L, Map.copyOf(initial));
+    }
+
+    @Override
+    public Collection<ConfigAttribute> getAttributes(Method method, Class<?> targetClass) {
+
+        RuleTable current = table;
+
+        if (current.classes.isEmpty()) {
+            return null;
+        }
+
+        List<ConfigAttribute> attributes = current.resolved.computeIfAbsent(
+            new MethodClassKey(method, targetClass), key -> resolve(current, method, targetClass));
+
+        return attributes == NO_ATTRIBUTES ? null : attributes;
+    }
+
+    private List<ConfigAttribute> resolve(RuleTable current, Method method, Class<?> targetClass) {
+
+        // 상위 Class 에 등록된 권한도 적용 (MapBasedMethodSecurityMetadataSource 와 동일하게 가까운 Class 우선)
+        for (Class<?> type = targetClass != null ? targetClass : method.getDeclaringClass();
+            type != null; type = type.getSuperclass()) {
+
+            MethodRules rules = current.classes.get(type);
+
+            List<ConfigAttribute> attributes = rules == null ? null : rules.find(method.getName());
+
+            if (attributes != null) {
+                return attributes.isEmpty() ? NO_ATTRIBUTES : attributes;
+            }
+        }
+
+        return NO_ATTRIBUTES;
+    }
+
+    @Override
+    public Collection<ConfigAttribute> getAllConfigAttributes() {
+        return table.allConfigAttributes;
+    }
+
+    /**
+     * @return 해당 Class 또는 상위 Class 에 권한이 설정된 Method 가 있으면 true
+     */
+    public boolean hasRules(Class<?> type) {
+
+        Map<Class<?>, MethodRules> classes = table.classes;
+
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            if (classes.containsKey(current)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * @return 권한이 설정된 Method 가 있는 Class
+     */
+    public Set<Class<?>> getSecuredTypes() {
+        return table.classes.keySet();
+    }
+
+    /**
+     * @return 권한 Table 이 교체될 때마다 증가
+     */
+    public long getVersion() {
+        return table.version;
+    }
+
+    public synchronized void addSecureMethod(Class<?> type, String methodName,
+        List<ConfigAttribute> attributes) {
+
+        Map<Class<?>, MethodRules> next = new HashMap<>(table.classes);
+
+        next.put(type, next.getOrDefault(type, MethodRules.EMPTY).with(methodName, attributes));
+
+        this.table = table.next(next);
+
+        log.debug("add secure method. ({}.{}, {})", type.getName(), methodName, attributes);
+    }
+
+    public synchronized void removeSecureMethod(Class<?> type, String methodName) {
+
+        MethodRules rules = table.classes.get(type);
+
+        if (rules == null) {
+            return;
+        }
+
+        Map<Class<?>, MethodRules> next = new HashMap<>(table.classes);
+
+        MethodRules remaining = rules.without(methodName);
+
+        if (remaining.methods.isEmpty()) {
+            next.remove(type);
+        } else {
+            next.put(type, remaining);
+        }
+
+        this.table = table.next(next);
+
+        log.debug("remove secure method. ({}.{})", type.getName(), methodName);
+    }
+
+    /**
+     * 권한 Table 과 그 Table 기준의 (Method, Class) 별 조회 결과
+     */
+    private static final class RuleTable {
+
+        private final long version;
+        private final Map<Class<?>, MethodRules> classes;
+        private final Set<ConfigAttribute> allConfigAttributes;
+        private final ConcurrentMap<MethodClassKey, List<ConfigAttribute>> resolved = new ConcurrentHashMap<>();
+
+        private RuleTable(long version, Map<Class<?>, MethodRules> classes) {
+            this.version = version;
+            this.classes = classes;
+
+            Set<ConfigAttribute> attributes = new HashSet<>();
+
+            classes.values().forEach(rules -> rules.methods.values().forEach(attributes::addAll));
+
+            this.allConfigAttributes = Collections.unmodifiableSet(attributes);
+        }
+
+        private RuleTable next(Map<Class<?>, MethodRules> classes) {
+            return new RuleTable(version + 1, Map.copyOf(classes));
+        }
+    }
+
+    /**
+     * 한 Class 의 Method 이름 -> 권한 목록 (불변)
+     */
+    private static final class MethodRules {
+
+        private static final MethodRules EMPTY = new MethodRules(Map.of());
+
+        private final Map<String, List<ConfigAttribute>> methods;
+
+        // * 를 사용한 Method 이름
+        private final List<String> patterns;
+
+        private MethodRules(Map<String, List<ConfigAttribute>> methods) {
+            this.methods = methods;
+            this.patterns = List.copyOf(methods.keySet().stream()
+                .filter(name -> name.indexOf('*') >= 0)
+                .sorted()
+                .collect(Collectors.toList()));
+        }
+
+        private List<ConfigAttribute> find(String methodName) {
+
+            List<ConfigAttribute> attributes = methods.get(methodName);
+
+            if (attributes != null || patterns.isEmpty()) {
+                return attributes;
+            }
+
+            // 가장 긴 pattern 우선 (MapBasedMethodSecurityMetadataSource 와 동일)
+            String bestMatch = null;
+
+            for (String pattern : patterns) {
+                if (PatternMatchUtils.simpleMatch(pattern, methodName)
+                    && (bestMatch == null || pattern.length() > bestMatch.length())) {
+                    bestMatch = pattern;
+                }
+            }
+
+            return bestMatch == null ? null : methods.get(bestMatch);
+        }
+
+        private MethodRules with(String methodName, List<ConfigAttribute> attributes) {
+
+            Map<String, List<ConfigAttribute>> next = new HashMap<>(methods);
+
+            next.put(methodName, attributes);
+
+            return new MethodRules(Map.copyOf(next));
+        }
+
+        private MethodRules without(String methodName) {
+
+            Map<String, List<ConfigAttribute>> next = new HashMap<>(methods);
+
+            next.remove(methodName);
+
+            return new MethodRules(Map.copyOf(next));
+        }
+    }
+}
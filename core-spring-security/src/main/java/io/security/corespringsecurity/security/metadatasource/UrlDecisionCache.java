@@ -0,0 +1,198 @@
+package io.security.corespringsecurity.security.metadatasource;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.security.access.ConfigAttribute;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.security.corespringsecurity.security.properties.UrlDecisionCacheProperties;
+import io.security.corespringsecurity.security.properties.UrlDecisionCacheProperties.EvictionPolicy;
+
+/**
+ * URL 방식 - 권한 정보 조회 결과 Cache
+ *
+ * <pre>
+ *      - 대부분의 요청은 소수의 URL 에 집중되므로 (HttpMethod, 요청 경로) 별 조회 결과를 저장
+ *      - 저장된 결과는 조회 당시의 Snapshot version 을 함께 가진다.
+ *          - version 이 다르면 miss 로 처리하므로 자원 변경 중에도 이전 결과를 반환하지 않는다.
+ *          - Snapshot 이 교체되면 전체 invalidate
+ *      - 용량 제한 및 제거 정책 (LRU, W-TinyLFU)
+ *      - hit / miss / eviction 횟수 제공
+ * </pre>
+ */
+public class UrlDecisionCache {
+
+    private final Store store;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    public UrlDecisionCache(UrlDecisionCacheProperties properties) {
+
+        if (properties.getPolicy() == EvictionPolicy.LRU) {
+            this.store = new LruStore(properties.getCapacity());
+        } else {
+            this.store = new TinyLfuStore(properties.getCapacity());
+        }
+    }
+
+    /**
+     * @return 저장된 결과가 없거나 version 이 다르면 null
+     */
+    public Collection<ConfigAttribute> get(String method, String path, long version) {
+
+        Decision decision = store.get(key(method, path));
+
+        if (decision == null || decision.version != version) {
+            missCount.increment();
+            return null;
+        }
+
+        hitCount.increment();
+
+        return decision.attributes;
+    }
+
+    public void put(String method, String path, long version,
+        Collection<ConfigAttribute> attributes) {
+        store.put(key(method, path), new Decision(version, attributes));
+    }
+
+    public void invalidateAll() {
+        store.clear();
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    public long getSize() {
+        return store.size();
+    }
+
+    private static String key(String method, String path) {
+        return (method == null ? "" : method) + ' ' + path;
+    }
+
+    private static final class Decision {
+
+        private final long version;
+        private final Collection<ConfigAttribute> attributes;
+
+        private Decision(long version, Collection<ConfigAttribute> attributes) {
+            this.version = version;
+            this.attributes = attributes;
+        }
+    }
+
+    private interface Store {
+
+        Decision get(String key);
+
+        void put(String key, Decision decision);
+
+        void clear();
+
+        long size();
+    }
+
+    /**
+     * 접근 순서 기반 LinkedHashMap
+     */
+    private final class LruStore implements Store {
+
+        private final Map<String, Decision> decisions;
+
+        private LruStore(int capacity) {
+            this.decisions = Collections.synchronizedMap(
+                new LinkedHashMap<String, Decision>(16, 0.75f, true) {
+
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<String, Decision> eldest) {
+
+                        boolean evict = size() > capacity;
+
+                        if (evict) {
+                            evictionCount.increment();
+                        }
+
+                        return evict;
+                    }
+                });
+        }
+
+        @Override
+        public Decision get(String key) {
+            return decisions.get(key);
+        }
+
+        @Override
+        public void put(String key, Decision decision) {
+            decisions.put(key, decision);
+        }
+
+        @Override
+        public void clear() {
+            decisions.clear();
+        }
+
+        @Override
+        public long size() {
+            return decisions.size();
+        }
+    }
+
+    /**
+     * Caffeine (W-TinyLFU)
+     */
+    private final class TinyLfuStore implements Store {
+
+        private final Cache<String, Decision> decisions;
+
+        private TinyLfuStore(int capacity) {
+            this.decisions = Caffeine.newBuilder()
+                .maximumSize(capacity)
+                .<String, Decision>removalListener((key, value, cause) -> {
+                    if (cause.wasEvicted()) {
+                        evictionCount.increment();
+                    }
+                })
+                .build();
+        }
+
+        @Override
+        public Decision get(String key) {
+            return decisions.getIfPresent(key);
+        }
+
+        @Override
+        public void put(String key, Decision decision) {
+            decisions.put(key, decision);
+        }
+
+        @Override
+        public void clear() {
+            decisions.invalidateAll();
+        }
+
+        @Override
+        public long size() {
+            return decisions.estimatedSize();
+        }
+    }
+}
@@ -1,22 +1,19 @@
 package io.security.corespringsecurity.security.metadatasource;
 
-import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
-import java.util.Map.Entry;
-import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.servlet.http.HttpServletRequest;
 
 import org.springframework.security.access.ConfigAttribute;
 import org.springframework.security.web.FilterInvocation;
 import org.springframework.security.web.access.intercept.FilterInvocationSecurityMetadataSource;
-import org.springframework.security.web.util.matcher.RequestMatcher;
 
+import io.security.corespringsecurity.domain.entity.Resources;
 import io.security.corespringsecurity.security.service.SecurityResourceService;
 
 /**
@@ -52,15 +49,41 @@ import io.security.corespringsecurity.security.service.SecurityResourceService;
  *       - AccessDecisionManager 에게 전달하여 인가 처리 수행
  *       - DB 로부터 자원 및 권한 정보를 맵핑하여 Map 으로 관리
  *       - 사용자의 매 요청마다 요청 정보에 맵핑된 권한 정보 확인
+ *       - 매 요청마다 requestMap 을 순차 탐색하지 않도록 HttpMethod 별 UrlPathTrie 로 컴파일하여 조회
+ *       - reload 는 새로운 UrlResourceSnapshot 을 만든 후 한번에 교체하므로 요청 Thread 는 lock 없이 조회
+ *       - 자원 한 건의 등록/삭제는 DB 전체 조회 없이 delta 로 반영 (실패 시 전체 reload)
+ *       - UrlDecisionCache 가 설정된 경우 (HttpMethod, 요청 경로) 별 조회 결과를 재사용
+ *       - permitAllResources 는 같은 Index 의 bypass 계층으로 컴파일 (PermitAllFilter 가 따로 순차 탐색하지 않는다.)
  * </pre>
  */
-@RequiredArgsConstructor
+@Slf4j
 public class UrlFilterInvocationSecurityMetadataSource implements
     FilterInvocationSecurityMetadataSource {
 
-    private final Map<RequestMatcher, List<ConfigAttribute>> requestMap;
     private final SecurityResourceService securityResourceService;
 
+    private final List<UrlSecurityRule> permitAllRules = new ArrayList<>();
+
+    private final AtomicLong versionSequence = new AtomicLong();
+
+    private volatile UrlResourceSnapshot snapshot;
+
+    private UrlDecisionCache urlDecisionCache;
+
+    public UrlFilterInvocationSecurityMetadataSource(List<UrlSecurityRule> rules,
+        SecurityResourceService securityResourceService, String... permitAllResources) {
+        this.securityResourceService = securityResourceService;
+
+        // 설정 파일의 permitAllResources 는 DB 에 없으므로 reload 시에도 유지
+        for (String permitAllResource : permitAllResources) {
+            permitAllRules.add(
+                UrlSecurityRule.permitAll(null, Integer.MAX_VALUE, permitAllResource, null));
+        }
+
+        this.snapshot = UrlResourceSnapshot.of(versionSequence.incrementAndGet(),
+            withPermitAllRules(rules));
+    }
+
     // 파라미터에 FilterInvocation 가 온다.
     // 하지만, 다른 SecurityMetadataSource 에서도 사용해야하기 떄문에, Type 이 Object 인것
     @Override
@@ -69,31 +92,34 @@ public class UrlFilterInvocationSecurityMetadataSource implements
 
         HttpServletRequest request = ((FilterInvocation) object).getRequest();
 
-        // url 추출
-        for (Entry<RequestMatcher, List<ConfigAttribute>> entry : requestMap.entrySet()) {
+        UrlResourceSnapshot current = snapshot;
 
-            RequestMatcher matcher = entry.getKey();
+        if (urlDecisionCache == null) {
+            // url 추출
+            // ! null 또는 emptyList 를 반환하면 권한을 체크하지 않고 통과시켜버린다.
+            return current.getUrlRuleIndex().getAttributes(request);
+        }
 
-            if (matcher.matches(request)) {
-                return entry.getValue(); // return 권한 정보
-            }
+        // StrictHttpFirewall 이 정규화되지 않은 경로(//, /./, /../) 를 거부하므로 servletPath + pathInfo 를 그대로 key 로 사용
+        String method = request.getMethod();
+        String path = UrlRuleIndex.getRequestPath(request);
+
+        Collection<ConfigAttribute> attributes =
+            urlDecisionCache.get(method, path, current.getVersion());
 
+        if (attributes == null) {
+            attributes = current.getUrlRuleIndex().getAttributes(request);
+
+            urlDecisionCache.put(method, path, current.getVersion(), attributes);
         }
 
-        // ! null 또는 emptyList 를 반환하면 권한을 체크하지 않고 통과시켜버린다.
-        return Collections.emptyList();
+        return attributes;
     }
 
     @Override
     public Collection<ConfigAttribute> getAllConfigAttributes() {
 
-        Set<ConfigAttribute> allAttributes = new HashSet<>();
-
-        for (Entry<RequestMatcher, List<ConfigAttribute>> entry : requestMap.entrySet()) {
-            allAttributes.addAll(entry.getValue());
-        }
-
-        return allAttributes;
+        return snapshot.getUrlRuleIndex().getAllConfigAttributes();
     }
 
     @Override
@@ -101,8 +127,93 @@ public class UrlFilterInvocationSecurityMetadataSource implements
         return FilterInvocation.class.isAssignableFrom(clazz);
     }
 
-    public void reload() {
-        requestMap.clear();
-        requestMap.putAll(securityResourceService.getResourceList());
+    /**
+     * 동시에 여러 reload 가 요청되더라도 version 순서대로 publish 되도록 직렬화
+     */
+    public synchronized void reload() {
+
+        UrlResourceSnapshot reloaded = UrlResourceSnapshot.of(versionSequence.incrementAndGet(),
+            withPermitAllRules(securityResourceService.getResourceList()));
+
+        publish(reloaded);
+    }
+
+    /**
+     * 자원 한 건 등록(수정) 반영
+     *
+     * <pre>
+     *      - 권한이 없는 url 자원은 반영하지 않고, 이미 있으면 삭제
+     *          - reload() 는 권한과 join 하여 조회하므로 권한이 없는 자원은 포함되지 않는다.
+     *          - 권한 정보가 빈 자원이 먼저 Matching 되면 권한 심사 없이 통과되고, 순서가 뒤인 자원도 가려진다.
+     * </pre>
+     */
+    public synchronized void addResource(Resources resources) {
+
+        try {
+            UrlSecurityRule rule = securityResourceService.getResource(resources);
+
+            if (!rule.isPermitAll() && rule.getAttributes().isEmpty()) {
+                removeResource(resources.getId());
+                return;
+            }
+
+            publish(snapshot.add(versionSequence.incrementAndGet(), rule));
+
+        } catch (RuntimeException e) {
+            log.warn("failed to apply resource. reload all resources. (resourceId={})",
+                resources.getId(), e);
+
+            reload();
+        }
+    }
+
+    /**
+     * 자원 한 건 삭제 반영
+     */
+    public synchronized void removeResource(Long resourceId) {
+
+        if (resourceId == null || !snapshot.contains(resourceId)) {
+            return;
+        }
+
+        publish(snapshot.remove(versionSequence.incrementAndGet(), resourceId));
+    }
+
+    public long getVersion() {
+        return snapshot.getVersion();
+    }
+
+    public UrlDecisionCache getUrlDecisionCache() {
+        return urlDecisionCache;
+    }
+
+    public void setUrlDecisionCache(UrlDecisionCache urlDecisionCache) {
+        this.urlDecisionCache = urlDecisionCache;
+    }
+
+    private List<UrlSecurityRule> withPermitAllRules(List<UrlSecurityRule> rules) {
+
+        List<UrlSecurityRule> merged = new ArrayList<>(permitAllRules.size() + rules.size());
+
+        merged.addAll(permitAllRules);
+        merged.addAll(rules);
+
+        return merged;
+    }
+
+    /**
+     * Snapshot 교체 후 Cache 비우기
+     *
+     * <pre>
+     *      - 교체 직전에 조회된 결과가 늦게 저장되더라도 version 이 다르므로 사용되지 않는다.
+     * </pre>
+     */
+    private void publish(UrlResourceSnapshot changed) {
+
+        this.snapshot = changed;
+
+        if (urlDecisionCache != null) {
+            urlDecisionCache.invalidateAll();
+        }
     }
 }
@@ -0,0 +1,157 @@
+package io.security.corespringsecurity.security.metadatasource;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.util.StringUtils;
+
+/**
+ * URL 방식 - 경로 Trie
+ *
+ * <pre>
+ *      - Ant pattern 을 '/' 단위 segment 로 나누어 Trie 로 컴파일
+ *          - literal : /admin
+ *          - 단일 segment wildcard : *, ?, {var}, *.html
+ *          - 다중 segment wildcard : **
+ *      - 조회 비용은 자원(Rule) 수가 아닌 요청 경로의 깊이에 비례
+ *      - 요청 경로와 일치할 수 있는 자원의 순서(후보)만 추려낸다.
+ *          - 최종 일치 여부는 UrlRuleIndex 에서 원래의 RequestMatcher 로 검증
+ * </pre>
+ */
+final class UrlPathTrie {
+
+    private static final String PATH_SEPARATOR = "/";
+    private static final String MULTI_LEVEL_WILDCARD = "**";
+
+    private final Node root = new Node();
+
+    void insert(String pattern, int order) {
+
+        Node node = root;
+
+        for (String segment : tokenize(pattern)) {
+            node = node.child(segment);
+        }
+
+        node.terminals.set(order);
+    }
+
+    void collect(String path, BitSet candidates) {
+        collect(root, tokenize(path), 0, path.endsWith(PATH_SEPARATOR), candidates);
+    }
+
+    private void collect(Node node, String[] segments, int index, boolean trailingSeparator,
+        BitSet candidates) {
+
+        if (index == segments.length) {
+
+            candidates.or(node.terminals);
+
+            // AntPathMatcher 는 '/' 로 끝나는 경로에 대해 마지막 '*' 를 빈 segment 로 허용한다. (/user/* -> /user/)
+            if (trailingSeparator && node.wildcard != null) {
+                candidates.or(node.wildcard.terminals);
+            }
+
+        } else {
+
+            Node literal = node.literals.get(segments[index]);
+
+            if (literal != null) {
+                collect(literal, segments, index + 1, trailingSeparator, candidates);
+            }
+
+            if (node.wildcard != null) {
+                collect(node.wildcard, segments, index + 1, trailingSeparator, candidates);
+            }
+        }
+
+        if (node.multiWildcard != null) {
+            collectMultiWildcard(node.multiWildcard, segments, index, trailingSeparator,
+                candidates);
+        }
+    }
+
+    /**
+     * ** 는 0 개 이상의 segment 를 소비한다.
+     */
+    private void collectMultiWildcard(Node node, String[] segments, int index,
+        boolean trailingSeparator, BitSet candidates) {
+
+        // ** 로 끝나는 pattern 은 나머지 경로를 모두 포함
+        candidates.or(node.terminals);
+
+        if (trailingSeparator && node.wildcard != null) {
+            candidates.or(node.wildcard.terminals);
+        }
+
+        for (int next = index; next < segments.length; next++) {
+
+            Node literal = node.literals.get(segments[next]);
+
+            if (literal != null) {
+                collect(literal, segments, next + 1, trailingSeparator, candidates);
+            }
+
+            if (node.wildcard != null) {
+                collect(node.wildcard, segments, next + 1, trailingSeparator, candidates);
+            }
+        }
+
+        if (node.multiWildcard != null) {
+            collectMultiWildcard(node.multiWildcard, segments, index, trailingSeparator,
+                candidates);
+        }
+    }
+
+    // AntPathMatcher 와 동일하게 빈 segment 는 무시
+    private static String[] tokenize(String path) {
+        return StringUtils.tokenizeToStringArray(path, PATH_SEPARATOR, false, true);
+    }
+
+    private static boolean isLiteral(String segment) {
+
+        for (int i = 0; i < segment.length(); i++) {
+
+            char c = segment.charAt(i);
+
+            if (c == '*' || c == '?' || c == '{') {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static final class Node {
+
+        private final Map<String, Node> literals = new HashMap<>();
+        private final BitSet terminals = new BitSet();
+
+        private Node wildcard;
+        private Node multiWildcard;
+
+        private Node child(String segment) {
+
+            if (MULTI_LEVEL_WILDCARD.equals(segment)) {
+
+                if (multiWildcard == null) {
+                    multiWildcard = new Node();
+                }
+
+                return multiWildcard;
+            }
+
+            if (!isLiteral(segment)) {
+
+                if (wildcard == null) {
+                    wildcard = new Node();
+                }
+
+                return wildcard;
+            }
+
+            return literals.computeIfAbsent(segment, key -> new Node());
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package io.security.corespringsecurity.security.metadatasource;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * URL 방식 - 권한 정보 Snapshot
+ *
+ * <pre>
+ *      - reload 시 기존 Map 을 clear() 후 putAll() 하면 요청 Thread 가 순회 중인 Map 이 변경된다.
+ *          - ConcurrentModificationException 발생
+ *          - 비어있는 순간에는 권한 심사 없이 모두 통과
+ *      - 새로운 Snapshot 을 완성한 뒤 volatile 참조 하나로 교체(publish)
+ *      - 한번 생성된 Snapshot 은 변경되지 않는다.
+ *      - 자원 한 건의 추가/삭제는 기존 UrlSecurityRule 을 재사용하여 새로운 Snapshot 을 만든다.
+ * </pre>
+ */
+@Getter
+@RequiredArgsConstructor
+public final class UrlResourceSnapshot {
+
+    private final long version;
+    private final List<UrlSecurityRule> rules;
+    private final UrlRuleIndex urlRuleIndex;
+
+    public static UrlResourceSnapshot of(long version, List<UrlSecurityRule> rules) {
+
+        List<UrlSecurityRule> copied = List.copyOf(rules);
+
+        return new UrlResourceSnapshot(version, copied, UrlRuleIndex.compile(copied));
+    }
+
+    /**
+     * 같은 resourceId 의 자원은 교체하고, orderNum desc 순서에 맞는 위치에 추가
+     */
+    public UrlResourceSnapshot add(long version, UrlSecurityRule rule) {
+
+        List<UrlSecurityRule> changed = new ArrayList<>(rules.size() + 1);
+
+        int position = -1;
+
+        for (UrlSecurityRule current : rules) {
+
+            if (rule.getResourceId() != null
+                && rule.getResourceId().equals(current.getResourceId())) {
+                continue;
+            }
+
+            if (position < 0 && current.getOrderNum() < rule.getOrderNum()) {
+                position = changed.size();
+            }
+
+            changed.add(current);
+        }
+
+        changed.add(position < 0 ? changed.size() : position, rule);
+
+        return of(version, changed);
+    }
+
+    public UrlResourceSnapshot remove(long version, Long resourceId) {
+
+        List<UrlSecurityRule> changed = new ArrayList<>(rules.size());
+
+        for (UrlSecurityRule current : rules) {
+            if (!resourceId.equals(current.getResourceId())) {
+                changed.add(current);
+            }
+        }
+
+        return of(version, changed);
+    }
+
+    public boolean contains(Long resourceId) {
+        return rules.stream().anyMatch(rule -> resourceId.equals(rule.getResourceId()));
+    }
+}
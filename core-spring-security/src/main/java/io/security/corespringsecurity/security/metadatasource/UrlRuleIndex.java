@@ -0,0 +1,149 @@
+package io.security.corespringsecurity.security.metadatasource;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.springframework.security.access.ConfigAttribute;
+import org.springframework.util.StringUtils;
+
+/**
+ * URL 방식 - HttpMethod 별 자원 Index
+ *
+ * <pre>
+ *      - 자원을 HttpMethod 별 UrlPathTrie 로 분리
+ *          - httpMethod 가 비어있는 자원은 wildcard Trie 에 저장
+ *          - 요청은 자신의 HttpMethod Trie + wildcard Trie 만 탐색
+ *      - Trie 에서 추려낸 후보는 전체 자원 목록의 순서(orderNum desc) 대로 원래의 RequestMatcher 로 다시 검증
+ *          - 따라서 순차 탐색과 동일한 결과를 보장한다.
+ *      - permitAll 자원은 가장 앞 순서에 배치 (bypass 계층)
+ *          - 한번의 조회로 bypass 여부와 권한 정보를 함께 결정한다.
+ *      - getAllConfigAttributes() 는 Index 생성 시 한번만 계산한 불변 Set 을 반환
+ * </pre>
+ */
+public final class UrlRuleIndex {
+
+    private final UrlSecurityRule[] rules;
+
+    private final UrlPathTrie anyMethodTrie = new UrlPathTrie();
+    private final Map<String, UrlPathTrie> methodTries = new HashMap<>();
+
+    private final Set<ConfigAttribute> allConfigAttributes;
+
+    private UrlRuleIndex(List<UrlSecurityRule> rules) {
+
+        List<UrlSecurityRule> ordered = new ArrayList<>(rules.size());
+
+        // permitAll 자원 -> 일반 자원 순서 (각 계층 내에서는 기존 순서 유지)
+        rules.stream().filter(UrlSecurityRule::isPermitAll).forEach(ordered::add);
+        rules.stream().filter(rule -> !rule.isPermitAll()).forEach(ordered::add);
+
+        this.rules = ordered.toArray(new UrlSecurityRule[0]);
+
+        for (int order = 0; order < this.rules.length; order++) {
+
+            UrlSecurityRule rule = this.rules[order];
+
+            trieOf(rule.getHttpMethod()).insert(rule.getPattern(), order);
+        }
+
+        Set<ConfigAttribute> attributes = new LinkedHashSet<>();
+
+        for (UrlSecurityRule rule : this.rules) {
+            attributes.addAll(rule.getAttributes());
+        }
+
+        this.allConfigAttributes = Collections.unmodifiableSet(attributes);
+    }
+
+    public static UrlRuleIndex compile(List<UrlSecurityRule> rules) {
+        return new UrlRuleIndex(rules);
+    }
+
+    public Collection<ConfigAttribute> getAttributes(HttpServletRequest request) {
+
+        UrlSecurityRule rule = resolve(request);
+
+        // permitAll 자원은 비어있는 권한 정보를 가지므로 권한 심사 없이 통과된다.
+        return rule == null ? Collections.emptyList() : rule.getAttributes();
+    }
+
+    /**
+     * @return 요청과 일치하는 가장 우선순위가 높은 자원, 없으면 null
+     */
+    public UrlSecurityRule resolve(HttpServletRequest request) {
+
+        String path = getRequestPath(request);
+        String method = request.getMethod();
+
+        BitSet candidates = new BitSet(rules.length);
+
+        anyMethodTrie.collect(path, candidates);
+
+        if (StringUtils.hasText(method)) {
+
+            UrlPathTrie methodTrie = methodTries.get(method);
+
+            if (methodTrie != null) {
+                methodTrie.collect(path, candidates);
+            }
+
+        } else {
+            // AntPathRequestMatcher 는 HttpMethod 가 없는 요청을 모든 HttpMethod 에 일치시킨다.
+            for (UrlPathTrie methodTrie : methodTries.values()) {
+                methodTrie.collect(path, candidates);
+            }
+        }
+
+        // 가장 우선순위가 높은 후보부터 검증
+        for (int order = candidates.nextSetBit(0); order >= 0;
+            order = candidates.nextSetBit(order + 1)) {
+
+            if (rules[order].getRequestMatcher().matches(request)) {
+                return rules[order];
+            }
+        }
+
+        return null;
+    }
+
+    public Collection<ConfigAttribute> getAllConfigAttributes() {
+        return allConfigAttributes;
+    }
+
+    public int size() {
+        return rules.length;
+    }
+
+    private UrlPathTrie trieOf(String httpMethod) {
+
+        if (httpMethod == null) {
+            return anyMethodTrie;
+        }
+
+        return methodTries.computeIfAbsent(httpMethod, key -> new UrlPathTrie());
+    }
+
+    /**
+     * AntPathRequestMatcher 와 동일하게 servletPath + pathInfo 를 사용
+     */
+    static String getRequestPath(HttpServletRequest request) {
+
+        String url = request.getServletPath();
+        String pathInfo = request.getPathInfo();
+
+        if (pathInfo != null) {
+            url = StringUtils.hasLength(url) ? url + pathInfo : pathInfo;
+        }
+
+        return url;
+    }
+}
@@ -0,0 +1,59 @@
+package io.security.corespringsecurity.security.metadatasource;
+
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.security.access.ConfigAttribute;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+/**
+ * URL 방식 - 컴파일 된 자원 정보
+ *
+ * <pre>
+ *      - Resources(resource_type = 'url') 한 건에 해당
+ *      - httpMethod 가 null 이면 모든 HttpMethod 에 적용
+ *      - resourceId, orderNum 은 자원 한 건을 추가/삭제(delta) 할 때 위치를 찾기 위해 사용
+ *      - permitAll 자원 (resource_type = 'permitAll', 설정 파일의 permitAllResources)
+ *          - 권한 정보가 없는 bypass 자원
+ *          - 다른 자원보다 항상 먼저 검사된다.
+ * </pre>
+ */
+@Getter
+public final class UrlSecurityRule {
+
+    private final Long resourceId;
+    private final int orderNum;
+    private final String pattern;
+    private final String httpMethod;
+    private final RequestMatcher requestMatcher;
+    private final List<ConfigAttribute> attributes;
+    private final boolean permitAll;
+
+    public UrlSecurityRule(Long resourceId, int orderNum, String pattern, String httpMethod,
+        List<ConfigAttribute> attributes) {
+        this(resourceId, orderNum, pattern, httpMethod, attributes, false);
+    }
+
+    private UrlSecurityRule(Long resourceId, int orderNum, String pattern, String httpMethod,
+        List<ConfigAttribute> attributes, boolean permitAll) {
+        this.resourceId = resourceId;
+        this.orderNum = orderNum;
+        this.pattern = pattern;
+        this.httpMethod = httpMethod;
+        this.requestMatcher = new AntPathRequestMatcher(pattern, httpMethod);
+        this.attributes = attributes;
+        this.permitAll = permitAll;
+    }
+
+    /**
+     * ! 권한 정보가 비어있으면 AbstractSecurityInterceptor 는 public invocation 으로 보고 권한 심사를 하지 않는다.
+     */
+    public static UrlSecurityRule permitAll(Long resourceId, int orderNum, String pattern,
+        String httpMethod) {
+        return new UrlSecurityRule(resourceId, orderNum, pattern, httpMethod,
+            Collections.emptyList(), true);
+    }
+}
@@ -0,0 +1,104 @@
+package io.security.corespringsecurity.security.processor;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.aopalliance.aop.Advice;
+import org.springframework.aop.ClassFilter;
+import org.springframework.aop.framework.AbstractAdvisingBeanPostProcessor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Service;
+
+import io.security.corespringsecurity.CoreSpringSecurityApplication;
+import io.security.corespringsecurity.security.metadatasource.LiveMethodSecurityMetadataSource;
+
+/**
+ * Method 방식 - 실시간 권한 적용 대상 Bean
+ *
+ * <pre>
+ *      - 실행 중 권한이 추가될 수 있는 Bean 에는 시작 시 미리 Advice (CustomMethodSecurityInterceptor) 를 등록
+ *          - 권한 추가, 삭제는 LiveMethodSecurityMetadataSource 의 Table 만 교체한다.
+ *          - Singleton Bean 을 삭제 후 다시 등록하지 않으므로 이미 주입받은 Bean 에도 바로 적용된다.
+ *      - 대상
+ *          - 시작 시 DB 의 Method 방식 자원에 있는 Class 와 그 하위 Class (종류와 Package 에 상관없이)
+ *          - Application Package 의 @Service Class (security Package 제외) : 실행 중 추가될 자원
+ *          - 이미 Proxy 인 Bean (ex. @Transactional) 은 기존 Proxy 에 Advisor 를 추가
+ *          - 권한 심사가 가장 먼저 일어나도록 기존 Advisor 보다 앞에 등록
+ *      - 자원에 있지만 Advice 가 등록된 Bean 이 없는 Class 는 권한 심사가 되지 않으므로 error log
+ * </pre>
+ */
+@Slf4j
+public class LiveMethodSecurityPostProcessor extends AbstractAdvisingBeanPostProcessor
+    implements SmartInitializingSingleton {
+
+    private static final String BASE_PACKAGE = CoreSpringSecurityApplication.class.getPackageName() + ".";
+    private static final String SECURITY_PACKAGE = BASE_PACKAGE + "security.";
+
+    private final LiveMethodSecurityMetadataSource liveMethodSecurityMetadataSource;
+
+    // Advice 가 등록된 Bean 의 Class
+    private final Set<Class<?>> advisedTypes = ConcurrentHashMap.newKeySet();
+
+    public LiveMethodSecurityPostProcessor(Advice methodSecurityInterceptor,
+        LiveMethodSecurityMetadataSource liveMethodSecurityMetadataSource) {
+
+        this.liveMethodSecurityMetadataSource = liveMethodSecurityMetadataSource;
+
+        ClassFilter candidates = type ->
+            liveMethodSecurityMetadataSource.hasRules(type) || isLiveCandidate(type);
+
+        this.advisor = new DefaultPointcutAdvisor(new ComposablePointcut(candidates),
+            methodSecurityInterceptor);
+
+        setBeforeExistingAdvisors(true);
+        setProxyTargetClass(true);
+    }
+
+    /**
+     * @return Advice 가 등록된 Bean 의 Class 이거나 그 상위 Class 이면 true (권한을 추가하면 바로 적용된다.)
+     */
+    public boolean isAdvised(Class<?> type) {
+
+        if (advisedTypes.contains(type)) {
+            return true;
+        }
+
+        return advisedTypes.stream().anyMatch(type::isAssignableFrom);
+    }
+
+    @Override
+    protected boolean isEligible(Class<?> targetClass) {
+
+        boolean eligible = super.isEligible(targetClass);
+
+        if (eligible) {
+            advisedTypes.add(targetClass);
+        }
+
+        return eligible;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+
+        liveMethodSecurityMetadataSource.getSecuredTypes().stream()
+            .filter(type -> !isAdvised(type))
+            .forEach(type -> log.error(
+                "method security resource is not enforced. there is no singleton bean of {}.",
+                type.getName()));
+    }
+
+    private static boolean isLiveCandidate(Class<?> type) {
+
+        String typeName = type.getName();
+
+        return typeName.startsWith(BASE_PACKAGE)
+            && !typeName.startsWith(SECURITY_PACKAGE)
+            && AnnotatedElementUtils.hasAnnotation(type, Service.class);
+    }
+}
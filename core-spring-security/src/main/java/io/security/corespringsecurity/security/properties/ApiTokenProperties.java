@@ -0,0 +1,45 @@
+package io.security.corespringsecurity.security.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * /api/** 무상태 (Token) 인증 설정
+ *
+ * <pre>
+ *      - security.api-token.enabled : 사용 여부 (사용하지 않으면 Session 인증)
+ *      - security.api-token.ttl : Token 유효 시간
+ *      - security.api-token.active-key-id : 새로 발급하는 Token 에 서명할 key id
+ *      - security.api-token.keys : key id -> Base64 HMAC key
+ *          - 교체 시 새 key 를 추가하고 active-key-id 를 변경, 이전 key 는 ttl 이 지난 후 제거
+ *          - 비어있으면 시작 시 임의의 key 를 생성 (서버 한대에서만 사용 가능)
+ *      - security.api-token.revocation-capacity : 폐기 Token 예상 개수 (BloomFilter 크기)
+ *      - security.api-token.revocation-refresh-interval : 다른 서버의 폐기 정보 반영 주기
+ *      - security.api-token.revocation-sync-overlap : 폐기 정보를 다시 읽는 범위 (가장 긴 Transaction 보다 길게)
+ * </pre>
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "security.api-token")
+public class ApiTokenProperties {
+
+    private boolean enabled = false;
+
+    private Duration ttl = Duration.ofMinutes(30);
+
+    private String activeKeyId;
+
+    private Map<String, String> keys = new LinkedHashMap<>();
+
+    private int revocationCapacity = 10_000;
+
+    private Duration revocationRefreshInterval = Duration.ofSeconds(5);
+
+    private Duration revocationSyncOverlap = Duration.ofMinutes(1);
+}
@@ -0,0 +1,38 @@
+package io.security.corespringsecurity.security.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 비밀번호 검증 Thread Pool 설정
+ *
+ * <pre>
+ *      - security.password-hash.pool-size : 검증 Thread 수 (기본 CPU 수)
+ *      - security.password-hash.queue-capacity : 대기열 크기
+ *      - security.password-hash.retry-after-seconds : 대기열이 가득 찬 경우 Retry-After 값
+ *      - security.password-hash.calibration-enabled : 시작 시 bcrypt cost 보정 여부
+ *      - security.password-hash.target-hash-millis : 보정 목표 hash 시간
+ *      - security.password-hash.min-cost, max-cost : 보정 cost 범위 (보정하지 않으면 min-cost 사용)
+ * </pre>
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "security.password-hash")
+public class PasswordHashProperties {
+
+    private int poolSize = Runtime.getRuntime().availableProcessors();
+
+    private int queueCapacity = 100;
+
+    private int retryAfterSeconds = 5;
+
+    private boolean calibrationEnabled = true;
+
+    private long targetHashMillis = 50;
+
+    private int minCost = 10;
+
+    private int maxCost = 16;
+}
@@ -0,0 +1,44 @@
+package io.security.corespringsecurity.security.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Session 저장소 (Postgres) 설정
+ *
+ * <pre>
+ *      - security.session-store.enabled : 사용 여부 (사용하지 않으면 Tomcat 메모리 Session)
+ *      - security.session-store.max-inactive-interval : Session 만료 시간
+ *      - security.session-store.near-cache-ttl : 서버 내 Cache 유지 시간 (사용할 때마다 DB 의 version 확인)
+ *      - security.session-store.near-cache-capacity : 서버 내 Cache 최대 저장 개수
+ *      - security.session-store.flush-interval : 마지막 접근 시각을 모아서 저장하는 주기
+ *      - security.session-store.flush-batch-size : 한번에 저장하는 Session 수
+ *      - security.session-store.cleanup-interval : 만료된 Session 삭제 주기
+ *      - security.session-store.cleanup-batch-size : 한번에 삭제하는 Session 수
+ * </pre>
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "security.session-store")
+public class SessionStoreProperties {
+
+    private boolean enabled = true;
+
+    private Duration maxInactiveInterval = Duration.ofMinutes(30);
+
+    private Duration nearCacheTtl = Duration.ofSeconds(10);
+
+    private int nearCacheCapacity = 10_000;
+
+    private Duration flushInterval = Duration.ofSeconds(1);
+
+    private int flushBatchSize = 500;
+
+    private Duration cleanupInterval = Duration.ofMinutes(1);
+
+    private int cleanupBatchSize = 1_000;
+}
@@ -0,0 +1,25 @@
+package io.security.corespringsecurity.security.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 신뢰하는 Proxy (Load Balancer) 설정
+ *
+ * <pre>
+ *      - security.trusted-proxy.addresses : 신뢰하는 Proxy 의 주소 또는 CIDR 범위
+ *          - 비어있으면 X-Forwarded-For, Forwarded Header 를 사용하지 않는다.
+ * </pre>
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "security.trusted-proxy")
+public class TrustedProxyProperties {
+
+    private List<String> addresses = new ArrayList<>();
+}
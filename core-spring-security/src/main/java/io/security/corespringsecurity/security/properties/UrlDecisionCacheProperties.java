@@ -0,0 +1,40 @@
+package io.security.corespringsecurity.security.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * URL 방식 - 권한 정보 조회 결과 Cache 설정
+ *
+ * <pre>
+ *      - security.url-decision-cache.enabled : 사용 여부
+ *      - security.url-decision-cache.capacity : 최대 저장 개수
+ *      - security.url-decision-cache.policy : 제거 정책 (lru, tiny-lfu)
+ * </pre>
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "security.url-decision-cache")
+public class UrlDecisionCacheProperties {
+
+    private boolean enabled = false;
+
+    private int capacity = 10_000;
+
+    private EvictionPolicy policy = EvictionPolicy.TINY_LFU;
+
+    public enum EvictionPolicy {
+
+        /**
+         * 가장 오래 사용되지 않은 요청부터 제거
+         */
+        LRU,
+
+        /**
+         * W-TinyLFU (Caffeine) - 사용 빈도를 함께 고려하여 제거
+         */
+        TINY_LFU
+    }
+}
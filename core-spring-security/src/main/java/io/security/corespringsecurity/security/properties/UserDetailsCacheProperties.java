@@ -0,0 +1,29 @@
+package io.security.corespringsecurity.security.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 사용자 정보 (UserDetails) Cache 설정
+ *
+ * <pre>
+ *      - security.user-details-cache.enabled : 사용 여부
+ *      - security.user-details-cache.ttl : 저장 후 유지 시간
+ *      - security.user-details-cache.capacity : 최대 저장 개수
+ * </pre>
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "security.user-details-cache")
+public class UserDetailsCacheProperties {
+
+    private boolean enabled = true;
+
+    private Duration ttl = Duration.ofMinutes(5);
+
+    private int capacity = 10_000;
+}
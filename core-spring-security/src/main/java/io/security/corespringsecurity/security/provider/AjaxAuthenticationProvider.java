@@ -7,8 +7,9 @@ import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
+import io.security.corespringsecurity.security.crypto.PasswordUpgrader;
+import io.security.corespringsecurity.security.crypto.PasswordVerificationExecutor;
 import io.security.corespringsecurity.security.service.AccountContext;
 import io.security.corespringsecurity.security.token.AjaxAuthenticationToken;
 
@@ -20,7 +21,10 @@ public class AjaxAuthenticationProvider implements AuthenticationProvider {
 
     private final UserDetailsService userDetailsService;
 
-    private final PasswordEncoder passwordEncoder;
+    // ! 요청 Thread 에서 직접 passwordEncoder.matches() 를 호출하지 않는다.
+    private final PasswordVerificationExecutor passwordVerificationExecutor;
+
+    private final PasswordUpgrader passwordUpgrader;
 
     @Override
     public Authentication authenticate(Authentication authentication)
@@ -32,11 +36,15 @@ public class AjaxAuthenticationProvider implements AuthenticationProvider {
         AccountContext accountContext = (AccountContext) userDetailsService.loadUserByUsername(
             username);
 
-        if (!passwordEncoder.matches(password, accountContext.getAccount().getPassword())) {
+        if (!passwordVerificationExecutor.matches(password,
+            accountContext.getPassword())) {
             throw new BadCredentialsException("Bad credentials.");
         }
 
-        return new AjaxAuthenticationToken(accountContext.getAccount(),
+        // 오래된 hash 는 비동기로 재암호화
+        passwordUpgrader.upgradeIfNeeded(accountContext, password);
+
+        return new AjaxAuthenticationToken(accountContext.getPrincipal(),
             null,
             accountContext.getAuthorities());
     }
@@ -1,7 +1,10 @@
 package io.security.corespringsecurity.security.provider;
 
 import io.security.corespringsecurity.security.common.FormWebAuthenticationDetails;
+import io.security.corespringsecurity.security.crypto.PasswordUpgrader;
+import io.security.corespringsecurity.security.crypto.PasswordVerificationExecutor;
 import io.security.corespringsecurity.security.service.AccountContext;
+import io.security.corespringsecurity.security.token.FormAuthenticationToken;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -10,14 +13,16 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
 @RequiredArgsConstructor
 public class CustomAuthenticationProvider implements AuthenticationProvider {
 
     private final UserDetailsService userDetailsService;
 
-    private final PasswordEncoder passwordEncoder;
+    // ! 요청 Thread 에서 직접 passwordEncoder.matches() 를 호출하지 않는다.
+    private final PasswordVerificationExecutor passwordVerificationExecutor;
+
+    private final PasswordUpgrader passwordUpgrader;
 
     @Override
     public Authentication authenticate(Authentication authentication)
@@ -31,7 +36,8 @@ public class CustomAuthenticationProvider implements AuthenticationProvider {
             username);
 
         // password 검증
-        if (!passwordEncoder.matches(password, accountContext.getAccount().getPassword())) {
+        if (!passwordVerificationExecutor.matches(password,
+            accountContext.getPassword())) {
             throw new BadCredentialsException("Bad credentials.");
         }
 
@@ -44,8 +50,11 @@ public class CustomAuthenticationProvider implements AuthenticationProvider {
             throw new InsufficientAuthenticationException("Insufficient authentication.");
         }
 
+        // 오래된 hash 는 비동기로 재암호화 (모든 검증을 통과한 경우에만)
+        passwordUpgrader.upgradeIfNeeded(accountContext, password);
+
         // 검증이 끝나면 AuthenticationToken 을 생성하여 return 한다.
-        return new UsernamePasswordAuthenticationToken(accountContext.getAccount(),
+        return new FormAuthenticationToken(accountContext.getPrincipal(),
             null,
             accountContext.getAuthorities());
     }
@@ -1,21 +1,21 @@
 package io.security.corespringsecurity.security.service;
 
-import io.security.corespringsecurity.domain.entity.Account;
 import java.util.Collection;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.User;
 
 public class AccountContext extends User {
 
-    private final Account account;
+    private final AccountPrincipal principal;
 
-    public AccountContext(Account account, Collection<? extends GrantedAuthority> authorities) {
-        super(account.getUsername(), account.getPassword(), authorities);
+    public AccountContext(AccountPrincipal principal, String password,
+        Collection<? extends GrantedAuthority> authorities) {
+        super(principal.getUsername(), password, authorities);
 
-        this.account = account;
+        this.principal = principal;
     }
 
-    public Account getAccount() {
-        return account;
+    public AccountPrincipal getPrincipal() {
+        return principal;
     }
 }
@@ -0,0 +1,83 @@
+package io.security.corespringsecurity.security.service;
+
+import java.io.Serializable;
+import java.security.Principal;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * 인증된 사용자 (Authentication.getPrincipal())
+ *
+ * <pre>
+ *      - Account Entity 대신 Authentication 에 저장
+ *          - Session 에 Entity (Hibernate Collection, Proxy) 가 남지 않는다.
+ *          - Session 직렬화 시 id, username, 권한 id 만 저장
+ *      - 불변 객체이므로 같은 사용자의 여러 Session 이 함께 사용해도 안전하다.
+ *      - password 는 가지지 않는다.
+ *      - SpEL 에서 principal.username 으로 사용
+ * </pre>
+ */
+public final class AccountPrincipal implements Principal, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Long id;
+    private final String username;
+
+    // 정렬된 권한 (Role) id
+    private final long[] roleIds;
+
+    public AccountPrincipal(Long id, String username, long[] roleIds) {
+        this.id = id;
+        this.username = username;
+
+        long[] sorted = roleIds.clone();
+
+        Arrays.sort(sorted);
+
+        this.roleIds = sorted;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public long[] getRoleIds() {
+        return roleIds.clone();
+    }
+
+    public boolean hasRoleId(long roleId) {
+        return Arrays.binarySearch(roleIds, roleId) >= 0;
+    }
+
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof AccountPrincipal)) {
+            return false;
+        }
+        AccountPrincipal that = (AccountPrincipal) o;
+        return Objects.equals(id, that.id) && Objects.equals(username, that.username);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, username);
+    }
+
+    @Override
+    public String toString() {
+        return username;
+    }
+}
@@ -0,0 +1,84 @@
+package io.security.corespringsecurity.security.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import io.security.corespringsecurity.domain.dto.AccountAuthenticationRow;
+
+/**
+ * Cache 에 저장하는 사용자 정보
+ *
+ * <pre>
+ *      - Entity 를 그대로 저장하지 않고 로그인에 필요한 값만 복사한 불변 객체
+ *          - 영속성 Context 와 분리되어 있으므로 여러 Thread 에서 공유해도 안전하다.
+ *      - 권한 목록 (GrantedAuthority) 은 생성 시 한번만 계산
+ *      - Entity 가 아닌 Projection (AccountAuthenticationRow) 으로 생성
+ *      - 인증 결과에 사용할 AccountPrincipal 도 한번만 생성하여 공유
+ * </pre>
+ */
+public final class AccountSnapshot {
+
+    private final AccountPrincipal principal;
+    private final String password;
+
+    private final List<String> roleNames;
+    private final List<GrantedAuthority> authorities;
+
+    private AccountSnapshot(AccountAuthenticationRow row, long[] roleIds, SortedSet<String> names) {
+        this.principal = new AccountPrincipal(row.getId(), row.getUsername(), roleIds);
+        this.password = row.getPassword();
+
+        List<GrantedAuthority> grantedAuthorities = new ArrayList<>(names.size());
+
+        names.forEach(roleName -> grantedAuthorities.add(new SimpleGrantedAuthority(roleName)));
+
+        this.roleNames = List.copyOf(names);
+        this.authorities = Collections.unmodifiableList(grantedAuthorities);
+    }
+
+    /**
+     * @param rows 한 사용자의 행 (권한 수 만큼)
+     * @return 행이 없으면 null
+     */
+    public static AccountSnapshot from(List<AccountAuthenticationRow> rows) {
+
+        if (rows.isEmpty()) {
+            return null;
+        }
+
+        SortedSet<String> names = new TreeSet<>();
+        long[] roleIds = new long[rows.size()];
+        int roleCount = 0;
+
+        for (AccountAuthenticationRow row : rows) {
+            if (row.getRoleId() != null) {
+                roleIds[roleCount++] = row.getRoleId();
+                names.add(row.getRoleName());
+            }
+        }
+
+        return new AccountSnapshot(rows.get(0), Arrays.copyOf(roleIds, roleCount), names);
+    }
+
+    /**
+     * User 는 eraseCredentials() 로 password 가 변경되므로 요청 마다 생성한다.
+     */
+    public AccountContext toAccountContext() {
+        return new AccountContext(principal, password, authorities);
+    }
+
+    public String getUsername() {
+        return principal.getUsername();
+    }
+
+    public List<String> getRoleNames() {
+        return roleNames;
+    }
+}
@@ -0,0 +1,45 @@
+package io.security.corespringsecurity.security.service;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import io.security.corespringsecurity.domain.entity.Account;
+import io.security.corespringsecurity.repository.UserRepository;
+
+/**
+ * 재암호화된 비밀번호 저장
+ *
+ * <pre>
+ *      - PasswordUpgrader 가 로그인 성공 후 호출
+ *      - 저장 후 UserDetailsCache 에서 제거
+ * </pre>
+ */
+@RequiredArgsConstructor
+@Service
+@Transactional
+public class CustomUserDetailsPasswordService implements UserDetailsPasswordService {
+
+    private final UserRepository userRepository;
+    private final UserDetailsCache userDetailsCache;
+
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+
+        Account account = userRepository.findByUsername(user.getUsername())
+            .orElseThrow(() -> new UsernameNotFoundException("not found username."));
+
+        account.setPassword(newPassword);
+
+        userDetailsCache.evict(account.getUsername());
+
+        return User.withUserDetails(user)
+            .password(newPassword)
+            .build();
+    }
+}
@@ -3,18 +3,11 @@ package io.security.corespringsecurity.security.service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import io.security.corespringsecurity.domain.entity.Account;
-import io.security.corespringsecurity.domain.entity.Role;
 import io.security.corespringsecurity.repository.UserRepository;
 
 @Slf4j
@@ -24,19 +17,30 @@ import io.security.corespringsecurity.repository.UserRepository;
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
-
+    private final UserDetailsCache userDetailsCache;
+
+    /**
+     * <pre>
+     *      - Cache 에 저장된 AccountSnapshot 이 있으면 DB 를 조회하지 않는다.
+     *      - 없는 사용자 (UsernameNotFoundException) 는 저장하지 않는다.
+     *      - 같은 사용자를 동시에 조회하면 DB 는 한번만 조회한다.
+     *      - Entity 가 아닌 Projection 으로 조회 (UserRepository.findAuthenticationRows())
+     * </pre>
+     */
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
 
-        Account account = userRepository.findByUsername(username)
-            .orElseThrow(() -> new UsernameNotFoundException("not found username."));
+        AccountSnapshot snapshot = userDetailsCache.get(username, key -> {
+
+            AccountSnapshot loaded = AccountSnapshot.from(userRepository.findAuthenticationRows(key));
+
+            if (loaded == null) {
+                throw new UsernameNotFoundException("not found username.");
+            }
 
-        List<GrantedAuthority> collect = account.getUserRoles()
-            .stream()
-            .map(Role::getRoleName)
-            .collect(Collectors.toSet())
-            .stream().map(SimpleGrantedAuthority::new).collect(Collectors.toList());
+            return loaded;
+        });
 
-        return new AccountContext(account, collect);
+        return snapshot.toAccountContext();
     }
 }
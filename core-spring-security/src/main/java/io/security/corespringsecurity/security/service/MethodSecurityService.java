@@ -1,102 +1,58 @@
 package io.security.corespringsecurity.security.service;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
-import java.util.Arrays;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-
-import org.springframework.aop.framework.ProxyFactory;
-import org.springframework.beans.factory.support.DefaultSingletonBeanRegistry;
-import org.springframework.boot.web.servlet.context.AnnotationConfigServletWebServerApplicationContext;
-import org.springframework.security.access.ConfigAttribute;
-import org.springframework.security.access.SecurityConfig;
-import org.springframework.security.access.method.MapBasedMethodSecurityMetadataSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.ClassUtils;
 
-import io.security.corespringsecurity.security.aop.CustomMethodSecurityInterceptor;
-
+import io.security.corespringsecurity.security.common.ConfigAttributePool;
+import io.security.corespringsecurity.security.metadatasource.LiveMethodSecurityMetadataSource;
+import io.security.corespringsecurity.security.processor.LiveMethodSecurityPostProcessor;
+
+/**
+ * Method 방식 - 실시간 권한 추가, 삭제
+ *
+ * <pre>
+ *      - className : package.Class.methodName
+ *      - Singleton Bean 을 Proxy 로 다시 등록하지 않고 권한 Table 만 변경
+ *          - 대상 Bean 은 시작 시 이미 Advice 가 등록되어 있다. (LiveMethodSecurityPostProcessor)
+ *          - 요청 처리 중 변경해도 안전하다.
+ *      - Advice 가 등록되지 않은 Class 의 권한은 재시작 후 적용되므로 error log
+ * </pre>
+ */
+@Slf4j
 @RequiredArgsConstructor
 @Component
 public class MethodSecurityService {
 
-    private final MapBasedMethodSecurityMetadataSource mapBasedMethodSecurityMetadataSource;
-    private final AnnotationConfigServletWebServerApplicationContext applicationContext;
-    private final CustomMethodSecurityInterceptor methodSecurityInterceptor;
-
-    private Map<String, Object> proxyMap = new HashMap<>();
-    private Map<String, ProxyFactory> advisedMap = new HashMap<>();
-    private Map<String, Object> targetMap = new HashMap<>();
+    private final LiveMethodSecurityMetadataSource liveMethodSecurityMetadataSource;
+    private final LiveMethodSecurityPostProcessor liveMethodSecurityPostProcessor;
 
-    public void addMethodSecured(String className, String roleName) throws Exception{
+    public void addMethodSecured(String className, String roleName) {
 
         int lastDotIndex = className.lastIndexOf(".");
-        String methodName = className.substring(lastDotIndex + 1);
-        String typeName = className.substring(0, lastDotIndex);
-        Class<?> type = ClassUtils.resolveClassName(typeName, ClassUtils.getDefaultClassLoader());
-        String beanName = type.getSimpleName().substring(0, 1).toLowerCase() + type.getSimpleName().substring(1);
-
-        ProxyFactory proxyFactory = advisedMap.get(beanName);
-        Object target = targetMap.get(beanName);
-
-        if(proxyFactory == null){
 
-            proxyFactory = new ProxyFactory();
-            if(target == null) {
-                proxyFactory.setTarget(type.getDeclaredConstructor().newInstance());
+        Class<?> type = resolveType(className, lastDotIndex);
 
-            }else{
-                proxyFactory.setTarget(target);
-            }
-            proxyFactory.addAdvice(methodSecurityInterceptor);
+        liveMethodSecurityMetadataSource.addSecureMethod(type,
+            className.substring(lastDotIndex + 1), ConfigAttributePool.listOf(roleName));
 
-            advisedMap.put(beanName, proxyFactory);
-
-        }else{
-
-            int adviceIndex = proxyFactory.indexOf(methodSecurityInterceptor);
-            if(adviceIndex == -1){
-                proxyFactory.addAdvice(methodSecurityInterceptor);
-            }
-        }
-
-        Object proxy = proxyMap.get(beanName);
-
-        if(proxy == null){
-
-            proxy = proxyFactory.getProxy();
-            proxyMap.put(beanName, proxy);
-
-            List<ConfigAttribute> attr = Arrays.asList(new SecurityConfig(roleName));
-            mapBasedMethodSecurityMetadataSource.addSecureMethod(type,methodName, attr);
-
-            DefaultSingletonBeanRegistry registry = (DefaultSingletonBeanRegistry)applicationContext.getBeanFactory();
-            registry.destroySingleton(beanName);
-            registry.registerSingleton(beanName, proxy);
+        if (!liveMethodSecurityPostProcessor.isAdvised(type)) {
+            log.error("method security resource is not enforced until restart. ({})", className);
         }
     }
 
-    public void removeMethodSecured(String className) throws Exception{
+    public void removeMethodSecured(String className) {
 
         int lastDotIndex = className.lastIndexOf(".");
-        String typeName = className.substring(0, lastDotIndex);
-        Class<?> type = ClassUtils.resolveClassName(typeName, ClassUtils.getDefaultClassLoader());
-        String beanName = type.getSimpleName().substring(0, 1).toLowerCase() + type.getSimpleName().substring(1);
-        Object newInstance = type.getDeclaredConstructor().newInstance();
 
-        DefaultSingletonBeanRegistry registry = (DefaultSingletonBeanRegistry)applicationContext.getBeanFactory();
-
-        ProxyFactory proxyFactory = advisedMap.get(beanName);
-
-        if(proxyFactory != null){
-            proxyFactory.removeAdvice(methodSecurityInterceptor);
+        liveMethodSecurityMetadataSource.removeSecureMethod(resolveType(className, lastDotIndex),
+            className.substring(lastDotIndex + 1));
+    }
 
-        }else{
-            registry.destroySingleton(beanName);
-            registry.registerSingleton(beanName, newInstance);
-            targetMap.put(beanName,newInstance);
-        }
+    private Class<?> resolveType(String className, int lastDotIndex) {
+        return ClassUtils.resolveClassName(className.substring(0, lastDotIndex),
+            ClassUtils.getDefaultClassLoader());
     }
 }
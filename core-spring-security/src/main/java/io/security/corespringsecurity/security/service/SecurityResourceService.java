@@ -6,18 +6,23 @@ import lombok.extern.slf4j.Slf4j;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
+import org.springframework.http.HttpMethod;
 import org.springframework.security.access.ConfigAttribute;
-import org.springframework.security.access.SecurityConfig;
-import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
-import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
 import io.security.corespringsecurity.domain.entity.AccessIp;
+import io.security.corespringsecurity.domain.entity.Resources;
+import io.security.corespringsecurity.domain.entity.Role;
 import io.security.corespringsecurity.repository.AccessIpRepository;
 import io.security.corespringsecurity.repository.ResourcesRepository;
+import io.security.corespringsecurity.security.common.ConfigAttributePool;
+import io.security.corespringsecurity.security.metadatasource.UrlSecurityRule;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -27,25 +32,39 @@ public class SecurityResourceService {
     private final ResourcesRepository resourcesRepository;
     private final AccessIpRepository accessIpRepository;
 
-    public Map<RequestMatcher, List<ConfigAttribute>> getResourceList() {
+    public List<UrlSecurityRule> getResourceList() {
 
-        LinkedHashMap<RequestMatcher, List<ConfigAttribute>> result = new LinkedHashMap<>();
+        List<UrlSecurityRule> result = new ArrayList<>();
 
-        resourcesRepository.findAllResources().forEach(resources -> {
-            List<ConfigAttribute> configAttributeList = new ArrayList<>();
+        resourcesRepository.findAllPermitAllResources()
+            .forEach(resources -> result.add(getResource(resources)));
 
-            resources.getRoleSet()
-                .forEach(role -> configAttributeList.add(new SecurityConfig(role.getRoleName())));
-
-            result.put(new AntPathRequestMatcher(resources.getResourceName()),
-                configAttributeList);
-
-        });
+        resourcesRepository.findAllResources()
+            .forEach(resources -> result.add(getResource(resources)));
 
         return result;
 
     }
 
+    /**
+     * 자원 한 건을 UrlSecurityRule 로 변환
+     *
+     * <pre>
+     *      - 전체 reload 없이 자원 한 건만 추가할 때 사용
+     *      - resource_type 이 permitAll 인 경우 권한 정보 없이 bypass 자원으로 변환
+     * </pre>
+     */
+    public UrlSecurityRule getResource(Resources resources) {
+
+        if ("permitAll".equals(resources.getResourceType())) {
+            return UrlSecurityRule.permitAll(resources.getId(), resources.getOrderNum(),
+                resources.getResourceName(), resolveHttpMethod(resources));
+        }
+
+        return new UrlSecurityRule(resources.getId(), resources.getOrderNum(),
+            resources.getResourceName(), resolveHttpMethod(resources), getConfigAttributes(resources));
+    }
+
     public List<String> getAccessIpList() {
 
         return accessIpRepository
@@ -59,34 +78,68 @@ public class SecurityResourceService {
 
         LinkedHashMap<String, List<ConfigAttribute>> result = new LinkedHashMap<>();
 
-        resourcesRepository.findAllMethodResources().forEach(resources -> {
-            List<ConfigAttribute> configAttributeList = new ArrayList<>();
+        resourcesRepository.findAllMethodResources().forEach(
+            resources -> result.put(resources.getResourceName(), getConfigAttributes(resources)));
+
+        return result;
+
+    }
 
-            resources.getRoleSet()
-                .forEach(role -> configAttributeList.add(new SecurityConfig(role.getRoleName())));
+    public Map<String, List<ConfigAttribute>> getPointcutResourceList() {
 
-            result.put(resources.getResourceName(), configAttributeList);
+        LinkedHashMap<String, List<ConfigAttribute>> result = new LinkedHashMap<>();
 
-        });
+        resourcesRepository.findAllPointcutResources().forEach(
+            resources -> result.put(resources.getResourceName(), getConfigAttributes(resources)));
 
         return result;
+    }
+
+    /**
+     * 자원의 권한 목록을 ConfigAttributePool 에서 조회
+     *
+     * <pre>
+     *      - 같은 권한은 url, method, pointcut 방식에 상관없이 같은 ConfigAttribute 를 사용
+     *      - roleSet 은 HashSet 이므로 권한 이름 순으로 정렬하여 같은 권한 목록이 같은 List 를 사용하도록 한다.
+     * </pre>
+     */
+    private List<ConfigAttribute> getConfigAttributes(Resources resources) {
+
+        if (resources.getRoleSet() == null) {
+            return ConfigAttributePool.listOf(List.of());
+        }
+
+        // 저장되지 않은 권한 (null) 은 제외
+        List<String> roleNames = resources.getRoleSet().stream()
+            .filter(Objects::nonNull)
+            .map(Role::getRoleName)
+            .sorted()
+            .collect(Collectors.toList());
 
+        return ConfigAttributePool.listOf(roleNames);
     }
 
-    public Map<String, List<ConfigAttribute>> getPointcutResourceList() {
+    /**
+     * http_method 가 비어있으면 모든 HttpMethod 에 적용 (null)
+     */
+    private String resolveHttpMethod(Resources resources) {
 
-        LinkedHashMap<String, List<ConfigAttribute>> result = new LinkedHashMap<>();
+        String httpMethod = resources.getHttpMethod();
 
-        resourcesRepository.findAllPointcutResources().forEach(resources -> {
-            List<ConfigAttribute> configAttributeList = new ArrayList<>();
+        if (!StringUtils.hasText(httpMethod)) {
+            return null;
+        }
 
-            resources.getRoleSet()
-                .forEach(role -> configAttributeList.add(new SecurityConfig(role.getRoleName())));
+        httpMethod = httpMethod.trim().toUpperCase(Locale.ROOT);
 
-            result.put(resources.getResourceName(), configAttributeList);
+        // ! 잘못된 HttpMethod 는 AntPathRequestMatcher 생성 시 예외가 발생하므로 모든 HttpMethod 에 적용한다.
+        if (HttpMethod.resolve(httpMethod) == null) {
+            log.warn("invalid http method. (resourceId={}, httpMethod={})", resources.getId(),
+                resources.getHttpMethod());
 
-        });
+            return null;
+        }
 
-        return result;
+        return httpMethod;
     }
 }
@@ -0,0 +1,128 @@
+package io.security.corespringsecurity.security.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.security.corespringsecurity.security.common.SingleFlight;
+import io.security.corespringsecurity.security.properties.UserDetailsCacheProperties;
+
+/**
+ * 사용자 정보 Cache
+ *
+ * <pre>
+ *      - username 별 AccountSnapshot 저장
+ *          - 반복 로그인 (API Client, Batch) 시 DB 조회 생략
+ *      - 저장 후 ttl 이 지나면 만료, 최대 저장 개수 제한 (Caffeine)
+ *      - 사용자 정보가 변경되면 evict(username) 으로 즉시 제거
+ *          - Transaction 안에서 호출한 경우 commit 후 한번 더 제거
+ *          - commit 전에 다른 요청이 이전 값을 다시 저장하는 경우 방지
+ *      - Cache 에 없는 사용자의 동시 조회는 SingleFlight 로 합쳐서 한번만 조회
+ *          - 조회 중 evict 된 경우 조회 결과는 반환만 하고 저장하지 않는다.
+ * </pre>
+ */
+public class UserDetailsCache {
+
+    private final Cache<String, AccountSnapshot> snapshots;
+
+    private final SingleFlight<String, AccountSnapshot> loads = new SingleFlight<>();
+
+    // evict 될 때 마다 증가
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public UserDetailsCache(UserDetailsCacheProperties properties) {
+
+        if (properties.isEnabled()) {
+            this.snapshots = Caffeine.newBuilder()
+                .expireAfterWrite(properties.getTtl())
+                .maximumSize(properties.getCapacity())
+                .build();
+        } else {
+            this.snapshots = null;
+        }
+    }
+
+    /**
+     * @param loader Cache 에 없는 경우 호출, 예외는 그대로 전달되며 저장하지 않는다.
+     */
+    public AccountSnapshot get(String username, Function<String, AccountSnapshot> loader) {
+
+        AccountSnapshot snapshot = getIfPresent(username);
+
+        if (snapshot != null) {
+            return snapshot;
+        }
+
+        return loads.execute(username, key -> {
+
+            // 이전 leader 가 방금 저장한 경우
+            AccountSnapshot cached = getIfPresent(key);
+
+            if (cached != null) {
+                return cached;
+            }
+
+            long invalidation = invalidations.get();
+
+            AccountSnapshot loaded = loader.apply(key);
+
+            if (snapshots != null && invalidation == invalidations.get()) {
+                snapshots.put(key, loaded);
+            }
+
+            return loaded;
+        });
+    }
+
+    public void evict(String username) {
+
+        if (snapshots == null || username == null) {
+            return;
+        }
+
+        invalidate(username);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        invalidate(username);
+                    }
+                });
+        }
+    }
+
+    public void evictAll() {
+
+        if (snapshots != null) {
+            invalidations.incrementAndGet();
+            snapshots.invalidateAll();
+        }
+    }
+
+    public long getSize() {
+        return snapshots == null ? 0 : snapshots.estimatedSize();
+    }
+
+    /**
+     * @return 진행 중인 조회를 함께 사용한 요청 수
+     */
+    public long getSharedLoadCount() {
+        return loads.getSharedCount();
+    }
+
+    private AccountSnapshot getIfPresent(String username) {
+        return snapshots == null ? null : snapshots.getIfPresent(username);
+    }
+
+    private void invalidate(String username) {
+        invalidations.incrementAndGet();
+        snapshots.invalidate(username);
+    }
+}
@@ -0,0 +1,593 @@
+package io.security.corespringsecurity.security.session;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.core.serializer.support.DeserializingConverter;
+import org.springframework.core.serializer.support.SerializationFailedException;
+import org.springframework.core.serializer.support.SerializingConverter;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.session.MapSession;
+import org.springframework.session.SessionRepository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.security.corespringsecurity.security.properties.SessionStoreProperties;
+
+/**
+ * Postgres 에 저장하는 SessionRepository (Spring Session)
+ *
+ * <pre>
+ *      - Tomcat 메모리 Session 은 서버 마다 따로 있으므로 배포 시 모든 사용자가 다시 로그인 (bcrypt 계산 폭증)
+ *      - 조회
+ *          - 서버 내 Cache (near cache) 에 있으면 DB 의 version 만 조회하여 같은 경우에만 사용
+ *              - 다른 서버에서 삭제, Session id 변경, attribute 변경이 있으면 바로 다시 조회
+ *              - attribute 역직렬화와 join 조회를 줄이는 용도
+ *          - 없으면 Session + attribute 를 join 한번으로 조회
+ *              - 역직렬화할 수 없는 attribute 가 있으면 (배포로 Class 변경) Session 을 삭제하고 없는 것으로 처리
+ *      - 저장
+ *          - Session 생성, Session id 변경 (Session 고정 보호), attribute 변경은 즉시 저장
+ *              - 다음 요청이 다른 서버로 가도 같은 Session (로그인, CSRF token) 을 사용해야 하므로 (sticky session 없음)
+ *              - Session id 변경은 이전 session_id 를 조건으로 변경하고 version 증가
+ *                  - 이전 Session id 는 모든 서버에서 바로 유효하지 않게 된다.
+ *          - 마지막 접근 시각만 변경된 경우 (대부분의 요청) 는 write-behind
+ *              - Session 별로 가장 최근 값만 남기고 flush-interval 마다 batch 로 저장
+ *              - session_id 는 저장하지 않는다. (다른 서버의 Session id 변경을 되돌리지 않도록)
+ *              - DB 의 마지막 접근 시각보다 오래된 값은 저장하지 않는다.
+ *              - 저장에 실패하면 이후 값과 합쳐서 다시 저장
+ *      - Session 삭제 (로그아웃) 는 즉시 저장
+ *      - 만료된 Session 은 cleanup-interval 마다 cleanup-batch-size 개씩 삭제
+ *          - for update skip locked 로 여러 서버가 동시에 삭제해도 서로 기다리지 않는다.
+ * </pre>
+ */
+@Slf4j
+public class JdbcSessionRepository implements SessionRepository<StoredSession> {
+
+    private static final String SELECT_SESSION = "select s.primary_id, s.session_id, s.creation_time, s.last_access_time, s.max_inactive_interval, s.version, a.attribute_name, a.attribute_bytes "
+        + "from app_session s left join app_session_attributes a on a.session_primary_id = s.primary_id "
+        + "where s.session_id = ?";
+
+    private static final String SELECT_VERSION = "select version, last_access_time from app_session where session_id = ?";
+
+    private static final String INSERT_SESSION = "insert into app_session (primary_id, session_id, creation_time, last_access_time, max_inactive_interval, expiry_time, version) "
+        + "values (?, ?, ?, ?, ?, ?, 1)";
+
+    private static final String INSERT_ATTRIBUTE = "insert into app_session_attributes (session_primary_id, attribute_name, attribute_bytes) values (?, ?, ?)";
+
+    // ! 이전 Session id 를 조건으로 변경 (이미 다른 서버에서 변경, 삭제된 경우 변경하지 않는다.)
+    private static final String CHANGE_SESSION_ID = "update app_session set session_id = ?, version = version + 1 "
+        + "where session_id = ? returning version";
+
+    private static final String INCREMENT_VERSION = "update app_session set version = version + 1 "
+        + "where session_id = ? returning version";
+
+    // ! session_id 는 변경하지 않는다.
+    private static final String TOUCH_SESSION = "update app_session set last_access_time = ?, max_inactive_interval = ?, expiry_time = ? "
+        + "where primary_id = ? and last_access_time <= ?";
+
+    private static final String UPSERT_ATTRIBUTE = "insert into app_session_attributes (session_primary_id, attribute_name, attribute_bytes) "
+        + "values (?, ?, ?) "
+        + "on conflict (session_primary_id, attribute_name) do update set attribute_bytes = excluded.attribute_bytes";
+
+    private static final String DELETE_ATTRIBUTE = "delete from app_session_attributes where session_primary_id = ? and attribute_name = ?";
+
+    private static final String DELETE_SESSION = "delete from app_session where session_id = ?";
+
+    private static final String DELETE_EXPIRED_SESSIONS = "delete from app_session where primary_id in "
+        + "(select primary_id from app_session where expiry_time < ? limit ? for update skip locked)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Duration maxInactiveInterval;
+    private final int flushBatchSize;
+    private final int cleanupBatchSize;
+
+    private final Cache<String, StoredSession> nearCache;
+
+    // primaryId -> 아직 저장하지 않은 마지막 접근 시각
+    private final ConcurrentMap<String, PendingTouch> pendingTouches = new ConcurrentHashMap<>();
+
+    // scheduler, shutdown 의 flush 가 겹치지 않도록
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final ScheduledExecutorService scheduler;
+
+    private final SerializingConverter serializer = new SerializingConverter();
+    private final DeserializingConverter deserializer = new DeserializingConverter(
+        getClass().getClassLoader());
+
+    private final LongAdder flushedCount = new LongAdder();
+    private final LongAdder coalescedCount = new LongAdder();
+    private final LongAdder expiredCount = new LongAdder();
+
+    public JdbcSessionRepository(JdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager, SessionStoreProperties properties) {
+
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        this.maxInactiveInterval = properties.getMaxInactiveInterval();
+        this.flushBatchSize = properties.getFlushBatchSize();
+        this.cleanupBatchSize = properties.getCleanupBatchSize();
+
+        this.nearCache = Caffeine.newBuilder()
+            .expireAfterWrite(properties.getNearCacheTtl())
+            .maximumSize(properties.getNearCacheCapacity())
+            .build();
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+
+            Thread thread = new Thread(runnable, "session-store");
+
+            thread.setDaemon(true);
+
+            return thread;
+        });
+
+        long flushMillis = properties.getFlushInterval().toMillis();
+        long cleanupMillis = properties.getCleanupInterval().toMillis();
+
+        scheduler.scheduleWithFixedDelay(this::flushSafely, flushMillis, flushMillis,
+            TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::cleanUpExpiredSessionsSafely, cleanupMillis,
+            cleanupMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public StoredSession createSession() {
+
+        MapSession session = new MapSession();
+
+        session.setMaxInactiveInterval(maxInactiveInterval);
+
+        return new StoredSession(UUID.randomUUID().toString(), session, 0L, true);
+    }
+
+    @Override
+    public void save(StoredSession session) {
+
+        long version;
+
+        if (session.isNew()) {
+
+            insert(session);
+
+            version = 1L;
+
+        } else {
+
+            version = session.getVersion();
+
+            if (session.isSessionIdChanged() || !session.getChangedAttributeNames().isEmpty()) {
+
+                Long updatedVersion = update(session);
+
+                if (session.isSessionIdChanged()) {
+                    nearCache.invalidate(session.getOriginalId());
+                }
+
+                // 다른 서버에서 이미 삭제되었거나 Session id 가 변경된 Session
+                if (updatedVersion == null) {
+
+                    log.warn("session was removed or its id was changed by another request. ({})",
+                        session.getOriginalId());
+
+                    nearCache.invalidate(session.getId());
+
+                    return;
+                }
+
+                version = updatedVersion;
+            }
+
+            touch(session);
+        }
+
+        session.markSaved(version);
+
+        nearCache.put(session.getId(), session.copy());
+    }
+
+    @Override
+    public StoredSession findById(String id) {
+
+        StoredSession session = nearCache.getIfPresent(id);
+
+        if (session != null) {
+
+            SessionVersion current = findVersion(id);
+
+            if (current == null) {
+                nearCache.invalidate(id);
+                return null;
+            }
+
+            if (current.version == session.getVersion()) {
+                return checkExpired(current.apply(session.copy()));
+            }
+        }
+
+        session = load(id);
+
+        if (session == null) {
+            nearCache.invalidate(id);
+            return null;
+        }
+
+        nearCache.put(id, session);
+
+        return checkExpired(session.copy());
+    }
+
+    @Override
+    public void deleteById(String id) {
+
+        nearCache.invalidate(id);
+
+        jdbcTemplate.update(DELETE_SESSION, id);
+    }
+
+    /**
+     * 남은 변경 내용을 저장한 후 종료 (Bean destroy 시 호출)
+     */
+    public void shutdown() {
+
+        scheduler.shutdown();
+
+        flushSafely();
+    }
+
+    public int getPendingWriteCount() {
+        return pendingTouches.size();
+    }
+
+    public long getFlushedCount() {
+        return flushedCount.sum();
+    }
+
+    public long getCoalescedCount() {
+        return coalescedCount.sum();
+    }
+
+    public long getExpiredCount() {
+        return expiredCount.sum();
+    }
+
+    private StoredSession checkExpired(StoredSession session) {
+
+        if (session.isExpired()) {
+            deleteById(session.getId());
+            return null;
+        }
+
+        return session;
+    }
+
+    private void insert(StoredSession session) {
+
+        Map<String, byte[]> attributes = serialize(session, session.getAttributeNames());
+
+        List<Object[]> inserts = new ArrayList<>(attributes.size());
+
+        attributes.forEach((attributeName, bytes) -> {
+            if (bytes != null) {
+                inserts.add(new Object[]{session.getPrimaryId(), attributeName, bytes});
+            }
+        });
+
+        transactionTemplate.executeWithoutResult(status -> {
+
+            jdbcTemplate.update(INSERT_SESSION, session.getPrimaryId(), session.getId(),
+                session.getCreationTime().toEpochMilli(),
+                session.getLastAccessedTime().toEpochMilli(),
+                (int) session.getMaxInactiveInterval().getSeconds(), session.getExpiryTime());
+
+            batchUpdate(INSERT_ATTRIBUTE, inserts);
+        });
+    }
+
+    /**
+     * @return 변경된 version, 이미 삭제되었거나 다른 Session id 로 변경된 경우 null
+     */
+    private Long update(StoredSession session) {
+
+        Map<String, byte[]> attributes = serialize(session, session.getChangedAttributeNames());
+
+        List<Object[]> upserts = new ArrayList<>();
+        List<Object[]> deletes = new ArrayList<>();
+
+        attributes.forEach((attributeName, bytes) -> {
+            if (bytes == null) {
+                deletes.add(new Object[]{session.getPrimaryId(), attributeName});
+            } else {
+                upserts.add(new Object[]{session.getPrimaryId(), attributeName, bytes});
+            }
+        });
+
+        return transactionTemplate.execute(status -> {
+
+            Long version = session.isSessionIdChanged()
+                ? queryVersion(CHANGE_SESSION_ID, session.getId(), session.getOriginalId())
+                : queryVersion(INCREMENT_VERSION, session.getOriginalId());
+
+            if (version == null) {
+                return null;
+            }
+
+            batchUpdate(UPSERT_ATTRIBUTE, upserts);
+            batchUpdate(DELETE_ATTRIBUTE, deletes);
+
+            return version;
+        });
+    }
+
+    private Long queryVersion(String sql, Object... arguments) {
+
+        List<Long> versions = jdbcTemplate.query(sql, (rs, rowNum) -> rs.getLong(1), arguments);
+
+        return versions.isEmpty() ? null : versions.get(0);
+    }
+
+    private Map<String, byte[]> serialize(StoredSession session, Iterable<String> attributeNames) {
+
+        Map<String, byte[]> attributes = new LinkedHashMap<>();
+
+        for (String attributeName : attributeNames) {
+
+            Object value = session.getAttribute(attributeName);
+
+            // null 은 삭제
+            attributes.put(attributeName, value == null ? null : serializer.convert(value));
+        }
+
+        return attributes;
+    }
+
+    private void touch(StoredSession session) {
+
+        pendingTouches.merge(session.getPrimaryId(), new PendingTouch(session),
+            (older, newer) -> {
+                coalescedCount.increment();
+                return newer.lastAccessedTime >= older.lastAccessedTime ? newer : older;
+            });
+    }
+
+    private SessionVersion findVersion(String id) {
+
+        List<SessionVersion> versions = jdbcTemplate.query(SELECT_VERSION,
+            (rs, rowNum) -> new SessionVersion(rs.getLong("version"),
+                rs.getLong("last_access_time")), id);
+
+        return versions.isEmpty() ? null : versions.get(0);
+    }
+
+    /**
+     * @return 없거나, 읽을 수 없는 attribute 가 있는 경우 null
+     */
+    private StoredSession load(String id) {
+
+        try {
+            return query(id);
+        } catch (SerializationFailedException e) {
+
+            // 배포로 Class 가 변경된 경우 등 : 일부 attribute 만 버리면 Session 이 일관되지 않으므로 Session 전체를 삭제
+            log.warn("session has unreadable attribute, removed. ({}, {})", id, e.getMessage());
+
+            deleteById(id);
+
+            return null;
+        }
+    }
+
+    private StoredSession query(String id) {
+
+        return jdbcTemplate.query(SELECT_SESSION, (ResultSetExtractor<StoredSession>) rs -> {
+
+            MapSession session = null;
+            String primaryId = null;
+            long version = 0L;
+
+            while (rs.next()) {
+
+                if (session == null) {
+                    primaryId = rs.getString("primary_id");
+                    version = rs.getLong("version");
+                    session = mapSession(rs);
+                }
+
+                String attributeName = rs.getString("attribute_name");
+
+                if (attributeName != null) {
+                    session.setAttribute(attributeName,
+                        deserializer.convert(rs.getBytes("attribute_bytes")));
+                }
+            }
+
+            return session == null ? null : new StoredSession(primaryId, session, version, false);
+
+        }, id);
+    }
+
+    private static MapSession mapSession(ResultSet rs) throws SQLException {
+
+        MapSession session = new MapSession(rs.getString("session_id"));
+
+        session.setCreationTime(Instant.ofEpochMilli(rs.getLong("creation_time")));
+        session.setLastAccessedTime(Instant.ofEpochMilli(rs.getLong("last_access_time")));
+        session.setMaxInactiveInterval(Duration.ofSeconds(rs.getInt("max_inactive_interval")));
+
+        return session;
+    }
+
+    private void flushSafely() {
+
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("failed to flush sessions.", e);
+        }
+    }
+
+    /**
+     * 모아 둔 마지막 접근 시각 저장
+     */
+    void flush() {
+
+        flushLock.lock();
+
+        try {
+            List<PendingTouch> batch = new ArrayList<>(flushBatchSize);
+
+            for (String key : pendingTouches.keySet()) {
+
+                PendingTouch touch = pendingTouches.remove(key);
+
+                if (touch == null) {
+                    continue;
+                }
+
+                batch.add(touch);
+
+                if (batch.size() >= flushBatchSize) {
+                    write(batch);
+                    batch = new ArrayList<>(flushBatchSize);
+                }
+            }
+
+            if (!batch.isEmpty()) {
+                write(batch);
+            }
+
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void write(List<PendingTouch> batch) {
+
+        List<Object[]> touches = new ArrayList<>(batch.size());
+
+        for (PendingTouch touch : batch) {
+            touches.add(new Object[]{touch.lastAccessedTime, touch.maxInactiveSeconds,
+                touch.expiryTime, touch.primaryId, touch.lastAccessedTime});
+        }
+
+        try {
+            batchUpdate(TOUCH_SESSION, touches);
+
+            flushedCount.add(batch.size());
+
+        } catch (DataAccessException e) {
+
+            log.warn("failed to write {} sessions. retry next flush. ({})", batch.size(),
+                e.getMessage());
+
+            // 이후 값이 더 최근이면 이후 값 사용
+            batch.forEach(touch -> pendingTouches.merge(touch.primaryId, touch,
+                (newer, failed) -> newer.lastAccessedTime >= failed.lastAccessedTime ? newer : failed));
+        }
+    }
+
+    private void batchUpdate(String sql, List<Object[]> arguments) {
+
+        if (!arguments.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, arguments);
+        }
+    }
+
+    private void cleanUpExpiredSessionsSafely() {
+
+        try {
+            cleanUpExpiredSessions();
+        } catch (RuntimeException e) {
+            log.error("failed to clean up expired sessions.", e);
+        }
+    }
+
+    /**
+     * @return 삭제된 Session 수
+     */
+    int cleanUpExpiredSessions() {
+
+        int total = 0;
+        int deleted;
+
+        do {
+            deleted = jdbcTemplate.update(DELETE_EXPIRED_SESSIONS, System.currentTimeMillis(),
+                cleanupBatchSize);
+
+            expiredCount.add(deleted);
+
+            total += deleted;
+
+        } while (deleted >= cleanupBatchSize);
+
+        return total;
+    }
+
+    /**
+     * DB 의 Session version 과 마지막 접근 시각
+     */
+    private static final class SessionVersion {
+
+        private final long version;
+        private final long lastAccessedTime;
+
+        private SessionVersion(long version, long lastAccessedTime) {
+            this.version = version;
+            this.lastAccessedTime = lastAccessedTime;
+        }
+
+        /**
+         * 다른 서버의 접근 시각이 더 최근이면 반영 (만료 판단)
+         */
+        private StoredSession apply(StoredSession session) {
+
+            if (lastAccessedTime > session.getLastAccessedTime().toEpochMilli()) {
+                session.setLastAccessedTime(Instant.ofEpochMilli(lastAccessedTime));
+            }
+
+            return session;
+        }
+    }
+
+    /**
+     * 한 Session 의 저장하지 않은 마지막 접근 시각
+     */
+    private static final class PendingTouch {
+
+        private final String primaryId;
+        private final long lastAccessedTime;
+        private final int maxInactiveSeconds;
+        private final long expiryTime;
+
+        private PendingTouch(StoredSession session) {
+            this.primaryId = session.getPrimaryId();
+            this.lastAccessedTime = session.getLastAccessedTime().toEpochMilli();
+            this.maxInactiveSeconds = (int) session.getMaxInactiveInterval().getSeconds();
+            this.expiryTime = session.getExpiryTime();
+        }
+    }
+}
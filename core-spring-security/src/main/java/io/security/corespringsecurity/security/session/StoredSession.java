@@ -0,0 +1,163 @@
+package io.security.corespringsecurity.security.session;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.springframework.session.MapSession;
+import org.springframework.session.Session;
+
+/**
+ * JdbcSessionRepository 의 Session
+ *
+ * <pre>
+ *      - 값은 MapSession 에 보관하고 변경된 attribute 이름만 기록
+ *          - 저장 시 변경된 attribute 만 직렬화하여 저장
+ *      - primaryId 는 변경되지 않는 DB 의 key
+ *          - changeSessionId() (Session 고정 보호) 는 session_id 만 변경
+ *      - version 은 DB 의 version (Session id, attribute 가 변경될 때마다 증가)
+ *          - near cache 의 Session 이 DB 와 같은지 확인하는 용도
+ * </pre>
+ */
+public class StoredSession implements Session {
+
+    private final String primaryId;
+    private final MapSession delegate;
+
+    private long version;
+    private boolean isNew;
+    private boolean sessionIdChanged;
+
+    // 마지막으로 저장된 Session id
+    private String originalId;
+
+    private final Set<String> changedAttributeNames = new HashSet<>();
+
+    StoredSession(String primaryId, MapSession delegate, long version, boolean isNew) {
+        this.primaryId = primaryId;
+        this.delegate = delegate;
+        this.version = version;
+        this.isNew = isNew;
+        this.originalId = delegate.getId();
+    }
+
+    @Override
+    public String getId() {
+        return delegate.getId();
+    }
+
+    @Override
+    public String changeSessionId() {
+        sessionIdChanged = true;
+        return delegate.changeSessionId();
+    }
+
+    @Override
+    public <T> T getAttribute(String attributeName) {
+        return delegate.getAttribute(attributeName);
+    }
+
+    @Override
+    public Set<String> getAttributeNames() {
+        return delegate.getAttributeNames();
+    }
+
+    @Override
+    public void setAttribute(String attributeName, Object attributeValue) {
+        delegate.setAttribute(attributeName, attributeValue);
+        changedAttributeNames.add(attributeName);
+    }
+
+    @Override
+    public void removeAttribute(String attributeName) {
+        delegate.removeAttribute(attributeName);
+        changedAttributeNames.add(attributeName);
+    }
+
+    @Override
+    public Instant getCreationTime() {
+        return delegate.getCreationTime();
+    }
+
+    @Override
+    public void setLastAccessedTime(Instant lastAccessedTime) {
+        delegate.setLastAccessedTime(lastAccessedTime);
+    }
+
+    @Override
+    public Instant getLastAccessedTime() {
+        return delegate.getLastAccessedTime();
+    }
+
+    @Override
+    public void setMaxInactiveInterval(Duration interval) {
+        delegate.setMaxInactiveInterval(interval);
+    }
+
+    @Override
+    public Duration getMaxInactiveInterval() {
+        return delegate.getMaxInactiveInterval();
+    }
+
+    @Override
+    public boolean isExpired() {
+        return delegate.isExpired();
+    }
+
+    String getPrimaryId() {
+        return primaryId;
+    }
+
+    long getVersion() {
+        return version;
+    }
+
+    boolean isNew() {
+        return isNew;
+    }
+
+    boolean isSessionIdChanged() {
+        return sessionIdChanged;
+    }
+
+    String getOriginalId() {
+        return originalId;
+    }
+
+    Set<String> getChangedAttributeNames() {
+        return changedAttributeNames;
+    }
+
+    /**
+     * @return 만료 시각 (epoch millis), 만료되지 않는 Session 은 Long.MAX_VALUE
+     */
+    long getExpiryTime() {
+
+        Duration interval = getMaxInactiveInterval();
+
+        if (interval.isNegative()) {
+            return Long.MAX_VALUE;
+        }
+
+        return getLastAccessedTime().plus(interval).toEpochMilli();
+    }
+
+    /**
+     * 저장 후 변경 기록 초기화
+     */
+    void markSaved(long version) {
+        this.version = version;
+        isNew = false;
+        sessionIdChanged = false;
+        originalId = getId();
+        changedAttributeNames.clear();
+    }
+
+    /**
+     * 요청 마다 별도의 Session 객체를 사용하도록 복사 (attribute 값은 공유)
+     */
+    StoredSession copy() {
+        return new StoredSession(primaryId, new MapSession(delegate), version, false);
+    }
+}
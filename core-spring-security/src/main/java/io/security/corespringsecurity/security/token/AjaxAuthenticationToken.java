@@ -6,7 +6,10 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.SpringSecurityCoreVersion;
 import org.springframework.util.Assert;
 
-public class AjaxAuthenticationToken extends AbstractAuthenticationToken {
+import io.security.corespringsecurity.security.hierarchy.ExpandedRoleBits;
+
+public class AjaxAuthenticationToken extends AbstractAuthenticationToken implements
+    RoleBitsHolder {
 
     private static final long serialVersionUID = SpringSecurityCoreVersion.SERIAL_VERSION_UID;
 
@@ -14,6 +17,8 @@ public class AjaxAuthenticationToken extends AbstractAuthenticationToken {
 
     private Object credentials;
 
+    private transient volatile ExpandedRoleBits expandedRoleBits;
+
     public AjaxAuthenticationToken(Object principal, Object credentials) {
         super(null);
         this.principal = principal;
@@ -51,4 +56,14 @@ public class AjaxAuthenticationToken extends AbstractAuthenticationToken {
         super.eraseCredentials();
         this.credentials = null;
     }
+
+    @Override
+    public ExpandedRoleBits getExpandedRoleBits() {
+        return expandedRoleBits;
+    }
+
+    @Override
+    public void setExpandedRoleBits(ExpandedRoleBits expandedRoleBits) {
+        this.expandedRoleBits = expandedRoleBits;
+    }
 }
@@ -0,0 +1,64 @@
+package io.security.corespringsecurity.security.token;
+
+import org.springframework.security.core.Authentication;
+
+/**
+ * 서명이 확인된 Token 의 내용
+ *
+ * <pre>
+ *      - token id : 발급 시 생성한 임의의 128 bit 값 (high, low)
+ *          - 폐기 목록 (ApiTokenRevocationList) 의 key
+ *      - issuedAt : 발급 시각, 사용자 별 not-before 와 비교
+ * </pre>
+ */
+public final class ApiTokenClaims {
+
+    private final long tokenIdHigh;
+    private final long tokenIdLow;
+    private final long issuedAt;
+    private final long expiresAt;
+    private final Long principalId;
+    private final Authentication authentication;
+
+    ApiTokenClaims(long tokenIdHigh, long tokenIdLow, long issuedAt, long expiresAt,
+        Long principalId, Authentication authentication) {
+        this.tokenIdHigh = tokenIdHigh;
+        this.tokenIdLow = tokenIdLow;
+        this.issuedAt = issuedAt;
+        this.expiresAt = expiresAt;
+        this.principalId = principalId;
+        this.authentication = authentication;
+    }
+
+    public static String tokenId(long high, long low) {
+        return String.format("%016x%016x", high, low);
+    }
+
+    public String getTokenId() {
+        return tokenId(tokenIdHigh, tokenIdLow);
+    }
+
+    public long getTokenIdHigh() {
+        return tokenIdHigh;
+    }
+
+    public long getTokenIdLow() {
+        return tokenIdLow;
+    }
+
+    public long getIssuedAt() {
+        return issuedAt;
+    }
+
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    public Long getPrincipalId() {
+        return principalId;
+    }
+
+    public Authentication getAuthentication() {
+        return authentication;
+    }
+}
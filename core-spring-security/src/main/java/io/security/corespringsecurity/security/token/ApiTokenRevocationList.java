@@ -0,0 +1,264 @@
+package io.security.corespringsecurity.security.token;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.security.corespringsecurity.security.common.BloomFilter;
+import io.security.corespringsecurity.security.properties.ApiTokenProperties;
+
+/**
+ * 무상태 인증 Token 폐기 목록
+ *
+ * <pre>
+ *      - Token 은 서명만 확인하므로 만료 전에 무효화하려면 폐기 목록이 필요하다.
+ *          - Token 단위 : 로그아웃 (token id)
+ *          - 사용자 단위 : 비밀번호, 권한 변경 (not-before, 이 시각 이전에 발급된 Token 모두 폐기)
+ *      - 요청 마다 DB 를 조회하지 않도록 메모리에 보관
+ *          - 사용자 단위 : principal id -> not-before Map (폐기된 사용자가 없으면 조회하지 않는다.)
+ *          - Token 단위 : BloomFilter 가 있을 수도 있다고 판단한 경우에만 정확한 Set 확인
+ *          - 유효한 Token 은 대부분 bit 몇 개 확인으로 끝난다.
+ *      - 폐기 정보는 Postgres (api_token_revocation) 에 저장
+ *          - 다른 서버는 refresh-interval 마다 마지막으로 읽은 행의 created_at - revocation-sync-overlap 이후의 행만 조회 (증분)
+ *              - id, created_at 은 commit 이 아닌 insert 시점의 값이므로 늦게 commit 된 행은 이미 읽은 행보다 작을 수 있다.
+ *              - overlap 만큼 다시 읽어서 revocation-sync-overlap 보다 짧은 Transaction 의 행은 놓치지 않는다.
+ *              - 같은 행을 다시 반영해도 결과는 같다.
+ *          - 만료된 Token 의 폐기 정보는 삭제
+ *      - 사용자 단위 폐기는 호출한 쪽의 Transaction 이 commit 된 후에 메모리에 반영 (rollback 되면 반영하지 않는다.)
+ *      - 변경 (추가, 정리) 은 synchronized, 조회는 lock 없이
+ * </pre>
+ */
+@Slf4j
+public class ApiTokenRevocationList {
+
+    private static final String INSERT_REVOCATION = "insert into api_token_revocation (token_id, principal_id, not_before, expires_at) values (?, ?, ?, ?)";
+
+    private static final String SELECT_REVOCATIONS = "select token_id, principal_id, not_before, expires_at, created_at from api_token_revocation "
+        + "where created_at > ? and expires_at > ?";
+
+    private static final String DELETE_EXPIRED_REVOCATIONS = "delete from api_token_revocation where expires_at <= ?";
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final boolean enabled;
+    private final long ttlMillis;
+    private final long syncOverlapMillis;
+
+    // token id -> 만료 시각
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+
+    // principal id -> not-before
+    private final Map<Long, Long> notBefore = new ConcurrentHashMap<>();
+
+    private volatile BloomFilter bloomFilter;
+
+    // 지금까지 읽은 행의 가장 큰 created_at (DB 시각)
+    private long lastCreatedAt;
+
+    private final ScheduledExecutorService scheduler;
+
+    public ApiTokenRevocationList(JdbcTemplate jdbcTemplate, ApiTokenProperties properties) {
+
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = properties.isEnabled();
+        this.ttlMillis = properties.getTtl().toMillis();
+        this.syncOverlapMillis = properties.getRevocationSyncOverlap().toMillis();
+        this.bloomFilter = new BloomFilter(properties.getRevocationCapacity(), FALSE_POSITIVE_RATE);
+
+        if (!enabled) {
+            this.scheduler = null;
+            return;
+        }
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+
+            Thread thread = new Thread(runnable, "api-token-revocation");
+
+            thread.setDaemon(true);
+
+            return thread;
+        });
+
+        long refreshMillis = properties.getRevocationRefreshInterval().toMillis();
+
+        scheduler.scheduleWithFixedDelay(this::refreshSafely, 0, refreshMillis,
+            TimeUnit.MILLISECONDS);
+    }
+
+    public boolean isRevoked(ApiTokenClaims claims) {
+
+        if (!notBefore.isEmpty() && claims.getPrincipalId() != null) {
+
+            Long revokedAt = notBefore.get(claims.getPrincipalId());
+
+            if (revokedAt != null && claims.getIssuedAt() <= revokedAt) {
+                return true;
+            }
+        }
+
+        return bloomFilter.mightContain(claims.getTokenIdHigh(), claims.getTokenIdLow())
+            && revokedTokens.containsKey(claims.getTokenId());
+    }
+
+    /**
+     * Token 하나 폐기 (로그아웃)
+     */
+    public void revokeToken(ApiTokenClaims claims) {
+
+        if (!enabled) {
+            return;
+        }
+
+        jdbcTemplate.update(INSERT_REVOCATION, claims.getTokenId(), null, null,
+            claims.getExpiresAt());
+
+        addToken(claims.getTokenId(), claims.getExpiresAt());
+    }
+
+    /**
+     * 사용자의 현재까지 발급된 모든 Token 폐기 (비밀번호, 권한 변경)
+     *
+     * <pre>
+     *      - 호출한 쪽의 Transaction 에 참여한다.
+     *          - 메모리에는 commit 된 후에 반영
+     *      - 폐기 정보는 Token 의 최대 유효 시간 (ttl) 동안만 유지
+     * </pre>
+     */
+    public void revokeUser(Long principalId) {
+
+        if (!enabled || principalId == null) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+
+        jdbcTemplate.update(INSERT_REVOCATION, null, principalId, now, now + ttlMillis);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        addUser(principalId, now);
+                    }
+                });
+        } else {
+            addUser(principalId, now);
+        }
+    }
+
+    public void shutdown() {
+
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+    }
+
+    public int getRevokedTokenCount() {
+        return revokedTokens.size();
+    }
+
+    public int getRevokedUserCount() {
+        return notBefore.size();
+    }
+
+    private synchronized void addToken(String tokenId, long expiresAt) {
+
+        if (revokedTokens.put(tokenId, expiresAt) != null) {
+            return;
+        }
+
+        // 예상 개수를 넘으면 오판 확률이 높아지므로 크기를 늘려 다시 생성
+        if (revokedTokens.size() > bloomFilter.getExpectedInsertions()) {
+            rebuildBloomFilter(bloomFilter.getExpectedInsertions() * 2);
+            return;
+        }
+
+        bloomFilter.put(high(tokenId), low(tokenId));
+    }
+
+    private synchronized void addUser(Long principalId, long revokedAt) {
+        notBefore.merge(principalId, revokedAt, Math::max);
+    }
+
+    private void refreshSafely() {
+
+        try {
+            refresh(System.currentTimeMillis());
+        } catch (RuntimeException e) {
+            log.error("failed to refresh api token revocations.", e);
+        }
+    }
+
+    /**
+     * 다른 서버에서 추가한 폐기 정보 반영, 만료된 폐기 정보 정리
+     */
+    void refresh(long now) {
+
+        long since = lastCreatedAt - syncOverlapMillis;
+
+        jdbcTemplate.query(SELECT_REVOCATIONS, rs -> {
+
+            lastCreatedAt = Math.max(lastCreatedAt, rs.getLong("created_at"));
+
+            String tokenId = rs.getString("token_id");
+
+            if (tokenId != null) {
+                addToken(tokenId, rs.getLong("expires_at"));
+            } else {
+                addUser(rs.getLong("principal_id"), rs.getLong("not_before"));
+            }
+
+        }, since, now);
+
+        if (expire(now)) {
+            jdbcTemplate.update(DELETE_EXPIRED_REVOCATIONS, now);
+        }
+    }
+
+    /**
+     * @return 정리된 폐기 정보가 있으면 true
+     */
+    private synchronized boolean expire(long now) {
+
+        boolean tokenExpired = revokedTokens.values().removeIf(expiresAt -> expiresAt <= now);
+
+        // not-before 이후 ttl 이 지나면 그 이전에 발급된 Token 은 모두 만료
+        boolean userExpired = notBefore.values().removeIf(revokedAt -> revokedAt + ttlMillis <= now);
+
+        // BloomFilter 는 삭제할 수 없으므로 다시 생성
+        if (tokenExpired) {
+            rebuildBloomFilter(bloomFilter.getExpectedInsertions());
+        }
+
+        return tokenExpired || userExpired;
+    }
+
+    private void rebuildBloomFilter(int expectedInsertions) {
+
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedInsertions, revokedTokens.size()),
+            FALSE_POSITIVE_RATE);
+
+        revokedTokens.keySet().forEach(tokenId -> rebuilt.put(high(tokenId), low(tokenId)));
+
+        this.bloomFilter = rebuilt;
+    }
+
+    private static long high(String tokenId) {
+        return Long.parseUnsignedLong(tokenId.substring(0, 16), 16);
+    }
+
+    private static long low(String tokenId) {
+        return Long.parseUnsignedLong(tokenId.substring(16), 16);
+    }
+}
@@ -0,0 +1,219 @@
+package io.security.corespringsecurity.security.token;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.security.core.Authentication;
+
+import io.security.corespringsecurity.security.context.AuthenticationCodec;
+import io.security.corespringsecurity.security.properties.ApiTokenProperties;
+import io.security.corespringsecurity.security.service.AccountPrincipal;
+
+/**
+ * /api/** 무상태 인증 Token 발급, 검증
+ *
+ * <pre>
+ *      - 형식 : {key id}.{payload}.{signature} (Base64 URL)
+ *          - payload : format version, 발급 시각, 만료 시각, token id + AuthenticationCodec 으로 변환한 인증 정보 (principal id, 권한, Client IP)
+ *          - signature : HMAC-SHA256 ({key id}.{payload})
+ *      - 검증 시 Session, DB 를 조회하지 않는다.
+ *          - 폐기 여부는 메모리의 ApiTokenRevocationList 로 확인
+ *      - key 교체
+ *          - 서명은 active key 로만 하고, 검증은 등록된 모든 key 로 한다.
+ *      - Mac 은 thread-safe 하지 않으므로 Thread 별로 key id 마다 하나씩 생성
+ * </pre>
+ */
+@Slf4j
+public class ApiTokenService {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private static final byte FORMAT_VERSION = 1;
+
+    // version + 발급 시각 + 만료 시각 + token id (128 bit)
+    private static final int HEADER_BYTES = 1 + Long.BYTES * 4;
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final AuthenticationCodec codec = new AuthenticationCodec();
+
+    private final SecureRandom random = new SecureRandom();
+
+    private final ApiTokenRevocationList revocationList;
+
+    private final long ttlMillis;
+    private final String activeKeyId;
+    private final Map<String, SecretKeySpec> keys;
+
+    private final ThreadLocal<Map<String, Mac>> macs = ThreadLocal.withInitial(HashMap::new);
+
+    public ApiTokenService(ApiTokenProperties properties,
+        ApiTokenRevocationList revocationList) {
+
+        this.revocationList = revocationList;
+        this.ttlMillis = properties.getTtl().toMillis();
+
+        Map<String, SecretKeySpec> secretKeys = new HashMap<>();
+
+        properties.getKeys().forEach((keyId, key) ->
+            secretKeys.put(keyId, new SecretKeySpec(Base64.getDecoder().decode(key), ALGORITHM)));
+
+        if (secretKeys.isEmpty()) {
+
+            log.warn("api token key is not configured. generated random key is valid only on this server.");
+
+            byte[] key = new byte[32];
+
+            random.nextBytes(key);
+
+            secretKeys.put("local", new SecretKeySpec(key, ALGORITHM));
+
+            this.activeKeyId = "local";
+        } else {
+            this.activeKeyId = properties.getActiveKeyId();
+        }
+
+        if (!secretKeys.containsKey(activeKeyId)) {
+            throw new IllegalArgumentException("active api token key is not found. (" + activeKeyId + ")");
+        }
+
+        this.keys = Map.copyOf(secretKeys);
+    }
+
+    /**
+     * @return 지원하지 않는 Authentication 이면 null
+     */
+    public String issue(Authentication authentication) {
+
+        byte[] encoded = codec.encode(authentication);
+
+        if (encoded == null) {
+            return null;
+        }
+
+        long now = System.currentTimeMillis();
+
+        byte[] payload = ByteBuffer.allocate(HEADER_BYTES + encoded.length)
+            .put(FORMAT_VERSION)
+            .putLong(now)
+            .putLong(now + ttlMillis)
+            .putLong(random.nextLong())
+            .putLong(random.nextLong())
+            .put(encoded)
+            .array();
+
+        String signed = activeKeyId + '.' + ENCODER.encodeToString(payload);
+
+        return signed + '.' + ENCODER.encodeToString(sign(activeKeyId, signed));
+    }
+
+    /**
+     * @return 서명이 다르거나, 만료되었거나, 형식이 잘못되었거나, 폐기된 경우 null
+     */
+    public Authentication verify(String token) {
+
+        ApiTokenClaims claims = parse(token);
+
+        if (claims == null || revocationList.isRevoked(claims)) {
+            return null;
+        }
+
+        return claims.getAuthentication();
+    }
+
+    /**
+     * 서명, 만료 시각만 확인 (폐기 여부는 확인하지 않는다.)
+     *
+     * @return 서명이 다르거나, 만료되었거나, 형식이 잘못된 경우 null
+     */
+    public ApiTokenClaims parse(String token) {
+
+        int keyEnd = token.indexOf('.');
+        int payloadEnd = token.lastIndexOf('.');
+
+        if (keyEnd <= 0 || payloadEnd <= keyEnd) {
+            return null;
+        }
+
+        String keyId = token.substring(0, keyEnd);
+
+        if (!keys.containsKey(keyId)) {
+            return null;
+        }
+
+        byte[] payload;
+        byte[] signature;
+
+        try {
+            payload = DECODER.decode(token.substring(keyEnd + 1, payloadEnd));
+            signature = DECODER.decode(token.substring(payloadEnd + 1));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+
+        // ! 시간 차이로 서명을 추측할 수 없도록 길이와 상관없이 비교 시간이 같은 MessageDigest.isEqual() 사용
+        if (!MessageDigest.isEqual(signature, sign(keyId, token.substring(0, payloadEnd)))) {
+            return null;
+        }
+
+        if (payload.length <= HEADER_BYTES || payload[0] != FORMAT_VERSION) {
+            return null;
+        }
+
+        ByteBuffer header = ByteBuffer.wrap(payload, 1, HEADER_BYTES - 1);
+
+        long issuedAt = header.getLong();
+        long expiresAt = header.getLong();
+        long tokenIdHigh = header.getLong();
+        long tokenIdLow = header.getLong();
+
+        if (expiresAt < System.currentTimeMillis()) {
+            return null;
+        }
+
+        Authentication authentication = codec.decode(
+            Arrays.copyOfRange(payload, HEADER_BYTES, payload.length));
+
+        if (authentication == null) {
+            return null;
+        }
+
+        Long principalId = ((AccountPrincipal) authentication.getPrincipal()).getId();
+
+        return new ApiTokenClaims(tokenIdHigh, tokenIdLow, issuedAt, expiresAt, principalId,
+            authentication);
+    }
+
+    private byte[] sign(String keyId, String signed) {
+
+        Mac mac = macs.get().computeIfAbsent(keyId, this::createMac);
+
+        return mac.doFinal(signed.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private Mac createMac(String keyId) {
+
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+
+            mac.init(keys.get(keyId));
+
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
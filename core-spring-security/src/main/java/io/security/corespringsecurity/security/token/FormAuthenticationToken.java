@@ -0,0 +1,39 @@
+package io.security.corespringsecurity.security.token;
+
+import java.util.Collection;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.SpringSecurityCoreVersion;
+
+import io.security.corespringsecurity.security.hierarchy.ExpandedRoleBits;
+
+/**
+ * Form 인증 - 인증 완료 Token
+ *
+ * <pre>
+ *      - UsernamePasswordAuthenticationToken 에 RoleBits 보관 기능 추가
+ * </pre>
+ */
+public class FormAuthenticationToken extends UsernamePasswordAuthenticationToken implements
+    RoleBitsHolder {
+
+    private static final long serialVersionUID = SpringSecurityCoreVersion.SERIAL_VERSION_UID;
+
+    private transient volatile ExpandedRoleBits expandedRoleBits;
+
+    public FormAuthenticationToken(Object principal, Object credentials,
+        Collection<? extends GrantedAuthority> authorities) {
+        super(principal, credentials, authorities);
+    }
+
+    @Override
+    public ExpandedRoleBits getExpandedRoleBits() {
+        return expandedRoleBits;
+    }
+
+    @Override
+    public void setExpandedRoleBits(ExpandedRoleBits expandedRoleBits) {
+        this.expandedRoleBits = expandedRoleBits;
+    }
+}
@@ -0,0 +1,18 @@
+package io.security.corespringsecurity.security.token;
+
+import io.security.corespringsecurity.security.hierarchy.ExpandedRoleBits;
+
+/**
+ * 권한 계층이 적용된 사용자 권한 RoleBits 를 보관하는 Authentication
+ *
+ * <pre>
+ *      - RoleBitSetVoter 가 처음 심사할 때 계산하여 저장
+ *      - 직렬화 대상이 아니다. (transient)
+ * </pre>
+ */
+public interface RoleBitsHolder {
+
+    ExpandedRoleBits getExpandedRoleBits();
+
+    void setExpandedRoleBits(ExpandedRoleBits expandedRoleBits);
+}
@@ -0,0 +1,208 @@
+package io.security.corespringsecurity.security.voter;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * 허용 IP 목록 - CIDR Prefix Trie
+ *
+ * <pre>
+ *      - AccessIp.ipAddress 에 단일 주소 (127.0.0.1, ::1) 와 CIDR 범위 (10.0.0.0/8, 2001:db8::/32) 를 모두 허용
+ *      - IPv4, IPv6 를 각각의 binary Trie 로 컴파일
+ *          - 조회 비용은 허용 IP 수가 아닌 주소의 bit 수 (IPv4 32, IPv6 128) 에 비례
+ *      - 한번 생성된 Trie 는 변경되지 않는다. (재조회 시 새로운 Trie 로 교체)
+ *      - 형식이 잘못된 항목은 경고 로그를 남기고 무시한다.
+ *      - version 은 정규화한 항목 (IP version + prefix 까지의 bit) 을 정렬한 목록의 hash (SHA-256 앞 64 bit)
+ *          - 같은 허용 IP 목록이면 모든 서버에서 같은 version (Session 에 저장된 심의 결과를 서버 간에 공유)
+ * </pre>
+ */
+@Slf4j
+public final class AccessIpTrie {
+
+    private final long version;
+
+    private final Node ipv4Root = new Node();
+    private final Node ipv6Root = new Node();
+
+    private final int size;
+
+    private AccessIpTrie(Collection<String> accessIpList) {
+
+        SortedSet<String> normalized = new TreeSet<>();
+
+        for (String accessIp : accessIpList) {
+
+            String entry = insert(accessIp);
+
+            if (entry != null) {
+                normalized.add(entry);
+            }
+        }
+
+        this.size = normalized.size();
+        this.version = hash(normalized);
+    }
+
+    public static AccessIpTrie compile(Collection<String> accessIpList) {
+        return new AccessIpTrie(accessIpList);
+    }
+
+    public boolean matches(String remoteAddress) {
+        return matches(IpAddressParser.parse(remoteAddress));
+    }
+
+    public boolean matches(byte[] address) {
+
+        if (address == null) {
+            return false;
+        }
+
+        Node node = address.length == 4 ? ipv4Root : ipv6Root;
+
+        for (int bit = 0; ; bit++) {
+
+            if (node.terminal) {
+                return true;
+            }
+
+            if (bit == address.length * 8) {
+                return false;
+            }
+
+            node = node.children[bitAt(address, bit)];
+
+            if (node == null) {
+                return false;
+            }
+        }
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return 정규화한 항목 (IP version + prefix 까지의 bit), 형식이 잘못된 경우 null
+     */
+    private String insert(String accessIp) {
+
+        if (accessIp == null) {
+            return null;
+        }
+
+        String value = accessIp.trim();
+
+        int slashIndex = value.indexOf('/');
+
+        byte[] address = IpAddressParser.parse(
+            slashIndex < 0 ? value : value.substring(0, slashIndex));
+
+        if (address == null) {
+            log.warn("invalid access ip. ({})", accessIp);
+            return null;
+        }
+
+        int maxPrefixLength = address.length * 8;
+        int prefixLength = maxPrefixLength;
+
+        if (slashIndex >= 0) {
+
+            // IPv4-mapped 주소는 IPv4 로 변환되므로 prefix 도 IPv4 기준으로 맞춘다.
+            boolean unmapped = address.length == 4 && value.indexOf(':') >= 0;
+
+            prefixLength = parsePrefixLength(value.substring(slashIndex + 1));
+
+            if (unmapped) {
+                prefixLength -= 96;
+            }
+
+            if (prefixLength < 0 || prefixLength > maxPrefixLength) {
+                log.warn("invalid access ip prefix length. ({})", accessIp);
+                return null;
+            }
+        }
+
+        Node node = address.length == 4 ? ipv4Root : ipv6Root;
+
+        StringBuilder bits = new StringBuilder(prefixLength + 4);
+
+        for (int bit = 0; bit < prefixLength; bit++) {
+
+            int next = bitAt(address, bit);
+
+            if (node.children[next] == null) {
+                node.children[next] = new Node();
+            }
+
+            node = node.children[next];
+
+            bits.append(next);
+        }
+
+        node.terminal = true;
+
+        // 같은 범위는 표기 (10.0.0.1/8, 10.0.0.0/8, ::ffff:10.0.0.0/104) 와 상관없이 같은 항목
+        return (address.length == 4 ? "4:" : "6:") + bits;
+    }
+
+    private static int parsePrefixLength(String value) {
+
+        if (value.isEmpty() || value.length() > 3) {
+            return -1;
+        }
+
+        int prefixLength = 0;
+
+        for (int i = 0; i < value.length(); i++) {
+
+            char c = value.charAt(i);
+
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+
+            prefixLength = prefixLength * 10 + (c - '0');
+        }
+
+        return prefixLength;
+    }
+
+    private static long hash(SortedSet<String> normalized) {
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+
+            for (String entry : normalized) {
+                digest.update(entry.getBytes(StandardCharsets.US_ASCII));
+                digest.update((byte) '\n');
+            }
+
+            return ByteBuffer.wrap(digest.digest()).getLong();
+
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static int bitAt(byte[] address, int bit) {
+        return (address[bit >>> 3] >>> (7 - (bit & 7))) & 1;
+    }
+
+    private static final class Node {
+
+        private final Node[] children = new Node[2];
+
+        private boolean terminal;
+    }
+}
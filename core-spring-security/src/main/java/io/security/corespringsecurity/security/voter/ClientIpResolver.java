@@ -0,0 +1,174 @@
+package io.security.corespringsecurity.security.voter;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * 실제 Client IP 조회
+ *
+ * <pre>
+ *      - Load Balancer 뒤에서는 request.getRemoteAddr() 가 항상 Load Balancer 의 주소가 된다.
+ *      - 요청이 신뢰하는 Proxy 로 부터 온 경우에만 X-Forwarded-For, Forwarded Header 를 사용
+ *          - Header 는 Client 가 임의로 추가할 수 있으므로 오른쪽 (가장 가까운 Proxy) 부터 확인
+ *          - 신뢰하는 Proxy 가 아닌 첫번째 주소를 Client 로 판단
+ *          - 모두 신뢰하는 Proxy 이면 가장 왼쪽 주소
+ *      - 신뢰하는 Proxy 목록은 AccessIpTrie 로 컴파일 (CIDR 범위 허용)
+ *      - Header 를 split 하지 않고 index 로 탐색하여 주소 하나당 substring 한번만 생성
+ * </pre>
+ */
+public class ClientIpResolver {
+
+    private static final String X_FORWARDED_FOR = "X-Forwarded-For";
+    private static final String FORWARDED = "Forwarded";
+    private static final String FORWARDED_FOR = "for=";
+
+    private final AccessIpTrie trustedProxies;
+
+    public ClientIpResolver(Collection<String> trustedProxies) {
+        this.trustedProxies = AccessIpTrie.compile(trustedProxies);
+    }
+
+    public String resolve(HttpServletRequest request) {
+
+        String remoteAddress = request.getRemoteAddr();
+
+        if (trustedProxies.size() == 0 || !trustedProxies.matches(remoteAddress)) {
+            return remoteAddress;
+        }
+
+        String clientAddress = resolve(request, X_FORWARDED_FOR, false);
+
+        if (clientAddress == null) {
+            clientAddress = resolve(request, FORWARDED, true);
+        }
+
+        return clientAddress == null ? remoteAddress : clientAddress;
+    }
+
+    private String resolve(HttpServletRequest request, String headerName, boolean forwarded) {
+
+        Enumeration<String> values = request.getHeaders(headerName);
+
+        if (values == null || !values.hasMoreElements()) {
+            return null;
+        }
+
+        // 같은 Header 가 여러 줄로 온 경우 마지막 줄이 가장 가까운 Proxy
+        List<String> headers = Collections.list(values);
+
+        String leftMostAddress = null;
+
+        for (int h = headers.size() - 1; h >= 0; h--) {
+
+            String header = headers.get(h);
+
+            int end = header.length();
+
+            while (end > 0) {
+
+                int start = header.lastIndexOf(',', end - 1) + 1;
+
+                String address = forwarded
+                    ? forwardedFor(header, start, end)
+                    : address(header, start, end);
+
+                end = start - 1;
+
+                if (address == null) {
+                    continue;
+                }
+
+                // ! 형식이 잘못된 주소 (unknown, _hidden) 는 신뢰하는 Proxy 가 아니므로 그대로 반환되어 IP 심사에서 거부된다.
+                if (!trustedProxies.matches(address)) {
+                    return address;
+                }
+
+                leftMostAddress = address;
+            }
+        }
+
+        return leftMostAddress;
+    }
+
+    /**
+     * Forwarded: for=192.0.2.60;proto=http;by=203.0.113.43
+     */
+    private static String forwardedFor(String header, int start, int end) {
+
+        int pairStart = start;
+
+        while (pairStart < end) {
+
+            int pairEnd = header.indexOf(';', pairStart);
+
+            if (pairEnd < 0 || pairEnd > end) {
+                pairEnd = end;
+            }
+
+            int keyStart = skipWhitespace(header, pairStart, pairEnd);
+
+            if (header.regionMatches(true, keyStart, FORWARDED_FOR, 0, FORWARDED_FOR.length())) {
+                return address(header, keyStart + FORWARDED_FOR.length(), pairEnd);
+            }
+
+            pairStart = pairEnd + 1;
+        }
+
+        return null;
+    }
+
+    /**
+     * 공백, 따옴표, [IPv6], port 제거
+     */
+    private static String address(String header, int start, int end) {
+
+        start = skipWhitespace(header, start, end);
+
+        while (end > start && Character.isWhitespace(header.charAt(end - 1))) {
+            end--;
+        }
+
+        if (end - start >= 2 && header.charAt(start) == '"' && header.charAt(end - 1) == '"') {
+            start++;
+            end--;
+        }
+
+        if (start == end) {
+            return null;
+        }
+
+        if (header.charAt(start) == '[') {
+
+            int closeIndex = header.indexOf(']', start);
+
+            if (closeIndex > start && closeIndex < end) {
+                return header.substring(start + 1, closeIndex);
+            }
+
+            return header.substring(start, end);
+        }
+
+        // IPv4 + port (192.0.2.60:4711), ':' 가 여러개이면 IPv6
+        int colonIndex = header.indexOf(':', start);
+
+        // ! 두번째 ':' 는 현재 주소 (end) 안에서만 확인
+        if (colonIndex >= start && colonIndex < end && header.lastIndexOf(':', end - 1) == colonIndex) {
+            return header.substring(start, colonIndex);
+        }
+
+        return header.substring(start, end);
+    }
+
+    private static int skipWhitespace(String header, int start, int end) {
+
+        while (start < end && Character.isWhitespace(header.charAt(start))) {
+            start++;
+        }
+
+        return start;
+    }
+}
@@ -0,0 +1,23 @@
+package io.security.corespringsecurity.security.voter;
+
+import org.springframework.security.access.AccessDeniedException;
+
+/**
+ * 허용되지 않은 IP 의 접근 거부
+ *
+ * <pre>
+ *      - 거부 사유가 IP 하나로 정해져 있으므로 stack trace 를 생성하지 않는다.
+ *          - 반복되는 거부 요청에서 fillInStackTrace() 비용 제거
+ * </pre>
+ */
+public class IpAddressDeniedException extends AccessDeniedException {
+
+    public IpAddressDeniedException(String msg) {
+        super(msg);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -0,0 +1,226 @@
+package io.security.corespringsecurity.security.voter;
+
+/**
+ * IP 주소 문자열을 byte[] 로 변환
+ *
+ * <pre>
+ *      - InetAddress.getByName() 은 IP 형식이 아닌 문자열에 대해 DNS 조회를 하므로 직접 변환
+ *      - IPv4 : 4 byte (a.b.c.d)
+ *      - IPv6 : 16 byte (:: 축약, 마지막 32 bit 의 IPv4 표기, [..] 및 %zone 허용)
+ *          - IPv4-mapped 주소 (::ffff:a.b.c.d) 는 IPv4 로 변환하여 IPv4 규칙과 비교할 수 있도록 한다.
+ *      - 형식이 잘못된 경우 null
+ * </pre>
+ */
+public final class IpAddressParser {
+
+    private static final int IPV4_LENGTH = 4;
+    private static final int IPV6_LENGTH = 16;
+
+    private IpAddressParser() {
+    }
+
+    public static byte[] parse(String address) {
+
+        if (address == null) {
+            return null;
+        }
+
+        String value = address.trim();
+
+        if (value.startsWith("[") && value.endsWith("]")) {
+            value = value.substring(1, value.length() - 1);
+        }
+
+        if (value.isEmpty()) {
+            return null;
+        }
+
+        if (value.indexOf(':') < 0) {
+            return parseIpv4(value, 0, value.length());
+        }
+
+        byte[] ipv6 = parseIpv6(value);
+
+        return ipv6 == null ? null : unmapIpv4(ipv6);
+    }
+
+    private static byte[] parseIpv4(String value, int start, int end) {
+
+        byte[] address = new byte[IPV4_LENGTH];
+
+        int octetIndex = 0;
+        int octet = -1;
+
+        for (int i = start; i < end; i++) {
+
+            char c = value.charAt(i);
+
+            if (c == '.') {
+
+                if (octet < 0 || octetIndex == IPV4_LENGTH - 1) {
+                    return null;
+                }
+
+                address[octetIndex++] = (byte) octet;
+                octet = -1;
+
+            } else if (c >= '0' && c <= '9') {
+
+                // 0 으로 시작하는 8진수 표기 (010.0.0.1) 는 허용하지 않는다.
+                if (octet == 0) {
+                    return null;
+                }
+
+                octet = (octet < 0 ? 0 : octet * 10) + (c - '0');
+
+                if (octet > 255) {
+                    return null;
+                }
+
+            } else {
+                return null;
+            }
+        }
+
+        if (octet < 0 || octetIndex != IPV4_LENGTH - 1) {
+            return null;
+        }
+
+        address[octetIndex] = (byte) octet;
+
+        return address;
+    }
+
+    private static byte[] parseIpv6(String value) {
+
+        int zoneIndex = value.indexOf('%');
+
+        int end = zoneIndex < 0 ? value.length() : zoneIndex;
+
+        byte[] address = new byte[IPV6_LENGTH];
+
+        int length = 0;
+        int compressedAt = -1;
+
+        int i = 0;
+
+        if (value.startsWith("::")) {
+            compressedAt = 0;
+            i = 2;
+        } else if (value.charAt(0) == ':') {
+            return null;
+        }
+
+        while (i < end) {
+
+            if (length == IPV6_LENGTH) {
+                return null;
+            }
+
+            int groupStart = i;
+            int group = 0;
+            int digits = 0;
+
+            while (i < end && digits <= 4) {
+
+                int hex = Character.digit(value.charAt(i), 16);
+
+                if (hex < 0) {
+                    break;
+                }
+
+                group = (group << 4) | hex;
+                digits++;
+                i++;
+            }
+
+            // 마지막 32 bit 의 IPv4 표기 (::ffff:127.0.0.1)
+            if (i < end && value.charAt(i) == '.') {
+
+                if (length > IPV6_LENGTH - IPV4_LENGTH) {
+                    return null;
+                }
+
+                byte[] ipv4 = parseIpv4(value, groupStart, end);
+
+                if (ipv4 == null) {
+                    return null;
+                }
+
+                System.arraycopy(ipv4, 0, address, length, IPV4_LENGTH);
+                length += IPV4_LENGTH;
+                break;
+            }
+
+            if (digits == 0 || digits > 4) {
+                return null;
+            }
+
+            address[length++] = (byte) (group >>> 8);
+            address[length++] = (byte) group;
+
+            if (i == end) {
+                break;
+            }
+
+            if (value.charAt(i) != ':') {
+                return null;
+            }
+
+            i++;
+
+            if (i < end && value.charAt(i) == ':') {
+
+                if (compressedAt >= 0) {
+                    return null;
+                }
+
+                compressedAt = length;
+                i++;
+
+            } else if (i == end) {
+                // ':' 로 끝나는 경우
+                return null;
+            }
+        }
+
+        if (compressedAt < 0) {
+            return length == IPV6_LENGTH ? address : null;
+        }
+
+        if (length == IPV6_LENGTH) {
+            return null;
+        }
+
+        // :: 뒤의 group 들을 뒤로 옮긴다.
+        int shift = IPV6_LENGTH - length;
+
+        System.arraycopy(address, compressedAt, address, compressedAt + shift,
+            length - compressedAt);
+
+        for (int j = compressedAt; j < compressedAt + shift; j++) {
+            address[j] = 0;
+        }
+
+        return address;
+    }
+
+    private static byte[] unmapIpv4(byte[] ipv6) {
+
+        for (int i = 0; i < 10; i++) {
+            if (ipv6[i] != 0) {
+                return ipv6;
+            }
+        }
+
+        if (ipv6[10] != (byte) 0xff || ipv6[11] != (byte) 0xff) {
+            return ipv6;
+        }
+
+        byte[] ipv4 = new byte[IPV4_LENGTH];
+
+        System.arraycopy(ipv6, 12, ipv4, 0, IPV4_LENGTH);
+
+        return ipv4;
+    }
+}
@@ -1,16 +1,18 @@
 package io.security.corespringsecurity.security.voter;
 
-import lombok.RequiredArgsConstructor;
-
+import java.io.Serializable;
 import java.util.Collection;
-import java.util.List;
+import java.util.Objects;
+
+import javax.servlet.http.HttpSession;
 
 import org.springframework.security.access.AccessDecisionVoter;
-import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.ConfigAttribute;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.web.FilterInvocation;
 import org.springframework.security.web.authentication.WebAuthenticationDetails;
 
+import io.security.corespringsecurity.security.context.StoredAuthenticationDetails;
 import io.security.corespringsecurity.security.service.SecurityResourceService;
 
 /**
@@ -22,12 +24,34 @@ import io.security.corespringsecurity.security.service.SecurityResourceService;
  *          - Voter 중에서 가장 먼저 심사하도록 하여 허용된 IP 일 경우에만 최종 승인 및 거부 결정을 하도록 한다.
  *          - 허용된 IP 이면 ACCESS_GRANTED 가 아닌 ACCESS_ABSTAIN 을 리턴해서 추가 심의를 계속 진행하도록 한다.
  *          - 허용된 IP 가 아니면 ACCESS_DENIED 를 리턴하지 않고 즉시 예외 발생하여 최종 자원 접근 거부
+ *
+ *      - 허용 IP 목록은 매 요청마다 DB 에서 조회하지 않고 AccessIpTrie 로 컴파일하여 메모리에서 비교
+ *          - CIDR 범위 허용
+ *          - 허용 IP 가 변경되면 reload() 로 새로운 Trie 로 교체
+ *
+ *      - 심의 결과를 Session 에 (IP, Trie version) 과 함께 저장
+ *          - 같은 Session 에서 IP 와 version 이 그대로이면 다시 심의하지 않는다.
+ *          - version 은 허용 IP 목록의 내용으로 계산하므로 Session 을 공유하는 다른 서버에서도 같은 의미
+ *          - 거부 시에는 stack trace 를 생성하지 않는 IpAddressDeniedException 발생
+ *
+ *      - 신뢰하는 Proxy 뒤에서는 ClientIpResolver 로 X-Forwarded-For, Forwarded Header 의 Client IP 를 심사
  * </pre>
  */
-@RequiredArgsConstructor
 public class IpAddressVoter implements AccessDecisionVoter<Object> {
 
+    private static final String VERDICT_ATTRIBUTE = IpAddressVoter.class.getName() + ".VERDICT";
+
     private final SecurityResourceService securityResourceService;
+    private final ClientIpResolver clientIpResolver;
+
+    private volatile AccessIpTrie accessIpTrie;
+
+    public IpAddressVoter(SecurityResourceService securityResourceService,
+        ClientIpResolver clientIpResolver) {
+        this.securityResourceService = securityResourceService;
+        this.clientIpResolver = clientIpResolver;
+        this.accessIpTrie = AccessIpTrie.compile(securityResourceService.getAccessIpList());
+    }
 
     @Override
     public boolean supports(ConfigAttribute attribute) {
@@ -43,19 +67,102 @@ public class IpAddressVoter implements AccessDecisionVoter<Object> {
     public int vote(Authentication authentication, Object object,
         Collection<ConfigAttribute> attributes) {
 
-        WebAuthenticationDetails details = (WebAuthenticationDetails) authentication.getDetails();
+        String remoteAddress = getRemoteAddress(authentication, object);
+
+        AccessIpTrie current = accessIpTrie;
+
+        HttpSession session = getSession(object);
 
-        String remoteAddress = details.getRemoteAddress();
+        if (session != null) {
 
-        List<String> accessIpList = securityResourceService.getAccessIpList();
+            Object verdict = session.getAttribute(VERDICT_ATTRIBUTE);
 
-        for (String ipAddress : accessIpList) {
-            if (remoteAddress.equals(ipAddress)) {
-                return ACCESS_ABSTAIN;
+            if (verdict instanceof IpVerdict
+                && ((IpVerdict) verdict).isFor(remoteAddress, current.getVersion())) {
+                return decide(((IpVerdict) verdict).granted);
             }
         }
 
-        throw new AccessDeniedException("Invalid IpAddress.");
+        boolean granted = current.matches(remoteAddress);
+
+        if (session != null) {
+            session.setAttribute(VERDICT_ATTRIBUTE,
+                new IpVerdict(remoteAddress, current.getVersion(), granted));
+        }
+
+        return decide(granted);
+
+    }
+
+    /**
+     * 허용 IP 목록 재조회
+     */
+    public synchronized void reload() {
+        this.accessIpTrie = AccessIpTrie.compile(securityResourceService.getAccessIpList());
+    }
+
+    public long getVersion() {
+        return accessIpTrie.getVersion();
+    }
+
+    private int decide(boolean granted) {
+
+        if (granted) {
+            return ACCESS_ABSTAIN;
+        }
+
+        throw new IpAddressDeniedException("Invalid IpAddress.");
+    }
+
+    /**
+     * 웹 요청이면 현재 요청의 Client IP, 아니면 인증 시점의 IP
+     */
+    private String getRemoteAddress(Authentication authentication, Object object) {
+
+        if (object instanceof FilterInvocation) {
+            return clientIpResolver.resolve(((FilterInvocation) object).getRequest());
+        }
+
+        Object details = authentication.getDetails();
+
+        // Session 에서 복원한 Authentication (CompactSecurityContextRepository)
+        if (details instanceof StoredAuthenticationDetails) {
+            return ((StoredAuthenticationDetails) details).getRemoteAddress();
+        }
+
+        return ((WebAuthenticationDetails) details).getRemoteAddress();
+    }
+
+    // ! Session 이 없는 요청에 Session 을 새로 만들지 않는다.
+    private HttpSession getSession(Object object) {
+
+        if (!(object instanceof FilterInvocation)) {
+            return null;
+        }
+
+        return ((FilterInvocation) object).getRequest().getSession(false);
+    }
+
+    /**
+     * Session 에 저장되는 IP 심의 결과
+     */
+    private static final class IpVerdict implements Serializable {
 
+        // ! 저장된 Session (JdbcSessionRepository) 을 다시 컴파일한 서버에서도 읽을 수 있도록 고정
+        private static final long serialVersionUID = 1L;
+
+        private final String remoteAddress;
+        private final long version;
+        private final boolean granted;
+
+        private IpVerdict(String remoteAddress, long version, boolean granted) {
+            this.remoteAddress = remoteAddress;
+            this.version = version;
+            this.granted = granted;
+        }
+
+        private boolean isFor(String remoteAddress, long version) {
+            return this.version == version && Objects.equals(this.remoteAddress, remoteAddress);
+        }
     }
 }
@@ -0,0 +1,103 @@
+package io.security.corespringsecurity.security.voter;
+
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.security.access.AccessDecisionVoter;
+import org.springframework.security.access.ConfigAttribute;
+import org.springframework.security.core.Authentication;
+
+import io.security.corespringsecurity.security.common.RoleAttributeList;
+import io.security.corespringsecurity.security.hierarchy.ClosureRoleHierarchy;
+import io.security.corespringsecurity.security.hierarchy.ExpandedRoleBits;
+import io.security.corespringsecurity.security.hierarchy.RoleBits;
+import io.security.corespringsecurity.security.token.RoleBitsHolder;
+
+/**
+ * URL 방식 - RoleBits 기반 RoleHierarchyVoter
+ *
+ * <pre>
+ *      - RoleHierarchyVoter 와 동일한 심사 결과
+ *          - ROLE_ 권한이 없으면 ACCESS_ABSTAIN
+ *          - 권한 계층이 적용된 사용자 권한 중 하나라도 일치하면 ACCESS_GRANTED, 아니면 ACCESS_DENIED
+ *      - 권한 문자열을 비교하지 않고 bit AND 로 심사
+ *          - 자원 권한 : RoleAttributeList 에 미리 계산된 requiredBits
+ *          - 사용자 권한 : ClosureRoleHierarchy 에서 계산한 RoleBits 를 Authentication 에 보관 (권한 계층 version 이 바뀌면 다시 계산)
+ * </pre>
+ */
+@RequiredArgsConstructor
+public class RoleBitSetVoter implements AccessDecisionVoter<Object> {
+
+    private final ClosureRoleHierarchy roleHierarchy;
+
+    @Override
+    public boolean supports(ConfigAttribute attribute) {
+        return RoleAttributeList.isRole(attribute);
+    }
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return true;
+    }
+
+    @Override
+    public int vote(Authentication authentication, Object object,
+        Collection<ConfigAttribute> attributes) {
+
+        if (authentication == null) {
+            return ACCESS_DENIED;
+        }
+
+        RoleBits requiredBits = getRequiredBits(attributes);
+
+        if (requiredBits.isEmpty()) {
+            return ACCESS_ABSTAIN;
+        }
+
+        return getGrantedBits(authentication).intersects(requiredBits)
+            ? ACCESS_GRANTED
+            : ACCESS_DENIED;
+    }
+
+    private RoleBits getRequiredBits(Collection<ConfigAttribute> attributes) {
+
+        if (attributes instanceof RoleAttributeList) {
+            return ((RoleAttributeList) attributes).getRequiredBits();
+        }
+
+        // ConfigAttributePool 을 거치지 않은 권한 목록
+        List<String> roleNames = new ArrayList<>(attributes.size());
+
+        for (ConfigAttribute attribute : attributes) {
+            if (supports(attribute)) {
+                roleNames.add(attribute.getAttribute());
+            }
+        }
+
+        return RoleBits.of(roleNames);
+    }
+
+    private RoleBits getGrantedBits(Authentication authentication) {
+
+        if (!(authentication instanceof RoleBitsHolder)) {
+            return roleHierarchy.getReachableRoleBits(authentication.getAuthorities())
+                .getRoleBits();
+        }
+
+        RoleBitsHolder holder = (RoleBitsHolder) authentication;
+
+        ExpandedRoleBits expandedRoleBits = holder.getExpandedRoleBits();
+
+        if (expandedRoleBits == null || expandedRoleBits.getVersion() != roleHierarchy.getVersion()) {
+
+            expandedRoleBits = roleHierarchy.getReachableRoleBits(authentication.getAuthorities());
+
+            holder.setExpandedRoleBits(expandedRoleBits);
+        }
+
+        return expandedRoleBits.getRoleBits();
+    }
+}
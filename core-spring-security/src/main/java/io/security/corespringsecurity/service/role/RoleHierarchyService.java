@@ -1,7 +1,24 @@
 package io.security.corespringsecurity.service.role;
 
+import java.util.Map;
+import java.util.Set;
+
 public interface RoleHierarchyService {
 
     String findAllHierarchy();
 
+    /**
+     * @return 상위 권한 -> 직속 하위 권한 목록
+     */
+    Map<String, Set<String>> findAllHierarchyEdges();
+
+    /**
+     * 권한 계층 (ClosureRoleHierarchy) 다시 계산
+     *
+     * <pre>
+     *      - Transaction 안에서 호출하면 commit 된 후에 교체
+     * </pre>
+     */
+    void reloadRoleHierarchy();
+
 }
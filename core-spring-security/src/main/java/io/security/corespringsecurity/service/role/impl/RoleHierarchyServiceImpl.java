@@ -3,13 +3,20 @@ package io.security.corespringsecurity.service.role.impl;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import io.security.corespringsecurity.domain.entity.RoleHierarchy;
+import io.security.corespringsecurity.domain.dto.RoleHierarchyEdge;
 import io.security.corespringsecurity.repository.RoleHierarchyRepository;
+import io.security.corespringsecurity.security.hierarchy.ClosureRoleHierarchy;
 import io.security.corespringsecurity.service.role.RoleHierarchyService;
 
 @Slf4j
@@ -19,26 +26,63 @@ import io.security.corespringsecurity.service.role.RoleHierarchyService;
 public class RoleHierarchyServiceImpl implements RoleHierarchyService {
 
     private final RoleHierarchyRepository roleHierarchyRepository;
+    private final ClosureRoleHierarchy roleHierarchy;
 
     @Override
     public String findAllHierarchy() {
 
-        List<RoleHierarchy> roleHierarchies = roleHierarchyRepository.findAll();
+        List<RoleHierarchyEdge> edges = roleHierarchyRepository.findAllEdges();
 
         StringBuilder concatRoles = new StringBuilder();
 
-        for (RoleHierarchy roleHierarchy : roleHierarchies) {
+        for (RoleHierarchyEdge edge : edges) {
+            concatRoles
+                .append(edge.getParentName())
+                .append(" > ")
+                .append(edge.getChildName())
+                .append("\n");
+        }
 
-            if (roleHierarchy.getParentName() != null) {
-                concatRoles
-                    .append(roleHierarchy.getParentName().getChildName())
-                    .append(" > ")
-                    .append(roleHierarchy.getChildName())
-                    .append("\n");
-            }
+        return concatRoles.toString();
+    }
+
+    @Override
+    public Map<String, Set<String>> findAllHierarchyEdges() {
 
+        Map<String, Set<String>> edges = new LinkedHashMap<>();
+
+        for (RoleHierarchyEdge edge : roleHierarchyRepository.findAllEdges()) {
+            edges.computeIfAbsent(edge.getParentName(), key -> new LinkedHashSet<>())
+                .add(edge.getChildName());
         }
 
-        return concatRoles.toString();
+        return edges;
+    }
+
+    @Override
+    public void reloadRoleHierarchy() {
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            reload();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reload();
+                }
+            });
+    }
+
+    private void reload() {
+
+        try {
+            roleHierarchy.setHierarchy(findAllHierarchyEdges());
+        } catch (IllegalArgumentException e) {
+            // 순환이 있으면 기존 권한 계층 유지
+            log.error("failed to reload role hierarchy. ({})", e.getMessage());
+        }
     }
 }
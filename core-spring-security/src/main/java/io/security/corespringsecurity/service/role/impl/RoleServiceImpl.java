@@ -10,6 +10,8 @@ import org.springframework.transaction.annotation.Transactional;
 
 import io.security.corespringsecurity.domain.entity.Role;
 import io.security.corespringsecurity.repository.RoleRepository;
+import io.security.corespringsecurity.security.service.UserDetailsCache;
+import io.security.corespringsecurity.service.role.RoleHierarchyService;
 import io.security.corespringsecurity.service.role.RoleService;
 
 @Slf4j
@@ -20,6 +22,8 @@ import io.security.corespringsecurity.service.role.RoleService;
 public class RoleServiceImpl implements RoleService {
 
     private final RoleRepository roleRepository;
+    private final UserDetailsCache userDetailsCache;
+    private final RoleHierarchyService roleHierarchyService;
 
     @Override
     public Role getRole(long id) {
@@ -36,12 +40,22 @@ public class RoleServiceImpl implements RoleService {
     public void createRole(Role role) {
 
         roleRepository.save(role);
+
+        // 권한 이름이 변경될 수 있으므로 저장된 사용자 권한 목록 전체 제거
+        userDetailsCache.evictAll();
+
+        // commit 후 권한 계층 다시 계산
+        roleHierarchyService.reloadRoleHierarchy();
     }
 
     @Override
     @Transactional
     public void deleteRole(long id) {
         roleRepository.deleteById(id);
+
+        userDetailsCache.evictAll();
+
+        roleHierarchyService.reloadRoleHierarchy();
     }
 
 }
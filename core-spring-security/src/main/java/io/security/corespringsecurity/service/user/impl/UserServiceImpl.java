@@ -19,6 +19,8 @@ import io.security.corespringsecurity.domain.entity.Account;
 import io.security.corespringsecurity.domain.entity.Role;
 import io.security.corespringsecurity.repository.RoleRepository;
 import io.security.corespringsecurity.repository.UserRepository;
+import io.security.corespringsecurity.security.service.UserDetailsCache;
+import io.security.corespringsecurity.security.token.ApiTokenRevocationList;
 import io.security.corespringsecurity.service.user.UserService;
 
 @Slf4j
@@ -30,6 +32,8 @@ public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserDetailsCache userDetailsCache;
+    private final ApiTokenRevocationList apiTokenRevocationList;
 
     @Override
     public List<Account> getUsers() {
@@ -67,6 +71,9 @@ public class UserServiceImpl implements UserService {
         account.setUserRoles(roles);
 
         userRepository.save(account);
+
+        // 같은 username 으로 조회 실패했던 요청이 없도록 제거
+        userDetailsCache.evict(account.getUsername());
     }
 
     @Transactional
@@ -76,6 +83,13 @@ public class UserServiceImpl implements UserService {
         Account account = userRepository.findById(accountDto.getId())
             .orElseThrow(() -> new RuntimeException("Not found."));
 
+        // username 이 변경될 수 있으므로 변경 전, 후 모두 제거
+        userDetailsCache.evict(account.getUsername());
+        userDetailsCache.evict(accountDto.getUsername());
+
+        // 비밀번호, 권한이 변경되므로 이미 발급된 Token 폐기
+        apiTokenRevocationList.revokeUser(account.getId());
+
         if (accountDto.getRoles() != null) {
             Set<Role> roles = new HashSet<>();
             accountDto.getRoles().forEach(role -> {
@@ -95,6 +109,12 @@ public class UserServiceImpl implements UserService {
     @Transactional
     @Override
     public void deleteUser(Long id) {
+
+        userRepository.findById(id)
+            .ifPresent(account -> userDetailsCache.evict(account.getUsername()));
+
+        apiTokenRevocationList.revokeUser(id);
+
         userRepository.deleteById(id);
     }
 
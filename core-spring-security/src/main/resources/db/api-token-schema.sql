@@ -0,0 +1,16 @@
+-- ApiTokenRevocationList (security.api-token)
+
+create table if not exists api_token_revocation
+(
+    id           bigserial not null primary key,
+    token_id     char(32),
+    principal_id bigint,
+    not_before   bigint,
+    expires_at   bigint    not null,
+    -- 다른 서버의 증분 조회 기준 (DB 시각)
+    created_at   bigint    not null default (extract(epoch from clock_timestamp()) * 1000)::bigint
+);
+
+create index if not exists api_token_revocation_ix2 on api_token_revocation (created_at);
+
+create index if not exists api_token_revocation_ix1 on api_token_revocation (expires_at);
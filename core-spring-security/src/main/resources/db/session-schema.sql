@@ -0,0 +1,23 @@
+-- JdbcSessionRepository (security.session-store)
+
+create table if not exists app_session
+(
+    primary_id            char(36)     not null primary key,
+    session_id            char(36)     not null unique,
+    creation_time         bigint       not null,
+    last_access_time      bigint       not null,
+    max_inactive_interval int          not null,
+    expiry_time           bigint       not null,
+    -- Session id, attribute 변경 시 증가 (near cache 확인용)
+    version               bigint       not null default 1
+);
+
+create index if not exists app_session_ix1 on app_session (expiry_time);
+
+create table if not exists app_session_attributes
+(
+    session_primary_id char(36)     not null references app_session (primary_id) on delete cascade,
+    attribute_name     varchar(200) not null,
+    attribute_bytes    bytea        not null,
+    primary key (session_primary_id, attribute_name)
+);
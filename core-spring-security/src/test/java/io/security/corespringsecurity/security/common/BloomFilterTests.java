@@ -0,0 +1,61 @@
+package io.security.corespringsecurity.security.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class BloomFilterTests {
+
+    @Test
+    void insertedValuesAreAlwaysFound() {
+
+        BloomFilter filter = new BloomFilter(1_000, 0.01);
+
+        Random random = new Random(1);
+
+        long[][] values = new long[1_000][];
+
+        for (int i = 0; i < values.length; i++) {
+            values[i] = new long[]{random.nextLong(), random.nextLong()};
+            filter.put(values[i][0], values[i][1]);
+        }
+
+        for (long[] value : values) {
+            assertThat(filter.mightContain(value[0], value[1])).isTrue();
+        }
+    }
+
+    @Test
+    void falsePositiveRateStaysNearConfiguredRate() {
+
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+
+        Random random = new Random(2);
+
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(random.nextLong(), random.nextLong());
+        }
+
+        int falsePositives = 0;
+        int trials = 100_000;
+
+        for (int i = 0; i < trials; i++) {
+            if (filter.mightContain(random.nextLong(), random.nextLong())) {
+                falsePositives++;
+            }
+        }
+
+        assertThat((double) falsePositives / trials).isLessThan(0.02);
+    }
+
+    @Test
+    void emptyFilterContainsNothing() {
+
+        BloomFilter filter = new BloomFilter(100, 0.01);
+
+        assertThat(filter.mightContain(0L, 0L)).isFalse();
+        assertThat(filter.mightContain(-1L, 42L)).isFalse();
+    }
+}
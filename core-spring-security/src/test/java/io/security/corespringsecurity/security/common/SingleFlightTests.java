@@ -0,0 +1,149 @@
+package io.security.corespringsecurity.security.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTests {
+
+    private static final int CALLERS = 8;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentCallersShareOneLoad() throws Exception {
+
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+
+        AtomicInteger loadCount = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = new ArrayList<>();
+
+        // leader 가 조회 중인 상태에서 나머지 요청을 보낸다.
+        results.add(executor.submit(() -> singleFlight.execute("user", key -> {
+            loadCount.incrementAndGet();
+            loading.countDown();
+            await(release);
+            return key + "-loaded";
+        })));
+
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        for (int i = 1; i < CALLERS; i++) {
+            results.add(executor.submit(() -> singleFlight.execute("user", key -> {
+                loadCount.incrementAndGet();
+                return "unexpected";
+            })));
+        }
+
+        waitUntil(() -> singleFlight.getSharedCount() == CALLERS - 1);
+
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("user-loaded");
+        }
+
+        assertThat(loadCount).hasValue(1);
+        assertThat(singleFlight.getInFlightCount()).isZero();
+    }
+
+    @Test
+    void exceptionIsPropagatedToWaitingCallers() throws Exception {
+
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> leader = executor.submit(() -> singleFlight.execute("user", key -> {
+            loading.countDown();
+            await(release);
+            throw new IllegalStateException("load failed");
+        }));
+
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        Future<String> follower = executor.submit(
+            () -> singleFlight.execute("user", key -> "unexpected"));
+
+        waitUntil(() -> singleFlight.getSharedCount() == 1);
+
+        release.countDown();
+
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS))
+            .hasCauseInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS))
+            .hasCauseInstanceOf(IllegalStateException.class);
+
+        // 실패한 결과는 남지 않는다.
+        assertThat(singleFlight.getInFlightCount()).isZero();
+        assertThat(singleFlight.execute("user", key -> "reloaded")).isEqualTo("reloaded");
+    }
+
+    @Test
+    void sequentialCallsAreNotCached() {
+
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+
+        AtomicInteger loadCount = new AtomicInteger();
+
+        singleFlight.execute("user", key -> loadCount.incrementAndGet());
+        singleFlight.execute("user", key -> loadCount.incrementAndGet());
+
+        assertThat(loadCount).hasValue(2);
+        assertThat(singleFlight.getSharedCount()).isZero();
+    }
+
+    @Test
+    void differentKeysAreLoadedSeparately() {
+
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+
+        String result = singleFlight.execute("a",
+            a -> a + singleFlight.execute("b", b -> b));
+
+        assertThat(result).isEqualTo("ab");
+        assertThat(singleFlight.getSharedCount()).isZero();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void waitUntil(BooleanSupplier condition)
+        throws InterruptedException {
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+
+        while (!condition.getAsBoolean()) {
+
+            assertThat(System.nanoTime()).as("timeout").isLessThan(deadline);
+
+            Thread.sleep(1);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package io.security.corespringsecurity.security.context;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+
+import io.security.corespringsecurity.security.service.AccountPrincipal;
+import io.security.corespringsecurity.security.token.AjaxAuthenticationToken;
+import io.security.corespringsecurity.security.token.FormAuthenticationToken;
+
+class AuthenticationCodecTests {
+
+    private final AuthenticationCodec codec = new AuthenticationCodec();
+
+    private final List<GrantedAuthority> authorities =
+        AuthorityUtils.createAuthorityList("ROLE_MANAGER", "ROLE_USER");
+
+    @Test
+    void formTokenRoundTrip() {
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+
+        request.setRemoteAddr("192.168.0.10");
+
+        FormAuthenticationToken token = new FormAuthenticationToken(
+            new AccountPrincipal(1L, "user", new long[]{2, 3}), "1111", authorities);
+
+        token.setDetails(new WebAuthenticationDetails(request));
+
+        long before = System.currentTimeMillis();
+
+        Authentication decoded = codec.decode(codec.encode(token));
+
+        assertThat(decoded).isExactlyInstanceOf(FormAuthenticationToken.class);
+        assertThat(decoded.isAuthenticated()).isTrue();
+        assertThat(decoded.getCredentials()).isNull();
+
+        AccountPrincipal principal = (AccountPrincipal) decoded.getPrincipal();
+
+        assertThat(principal.getId()).isEqualTo(1L);
+        assertThat(principal.getUsername()).isEqualTo("user");
+        assertThat(principal.getRoleIds()).containsExactly(2, 3);
+        assertThat(AuthorityUtils.authorityListToSet(decoded.getAuthorities()))
+            .containsExactlyInAnyOrder("ROLE_MANAGER", "ROLE_USER");
+
+        StoredAuthenticationDetails details = (StoredAuthenticationDetails) decoded.getDetails();
+
+        assertThat(details.getRemoteAddress()).isEqualTo("192.168.0.10");
+        assertThat(details.getAuthenticatedAt())
+            .isBetween(before, System.currentTimeMillis());
+    }
+
+    @Test
+    void ajaxTokenRoundTripKeepsStoredDetails() {
+
+        AjaxAuthenticationToken token = new AjaxAuthenticationToken(
+            new AccountPrincipal(null, "ajax", new long[0]), null, authorities);
+
+        token.setDetails(new StoredAuthenticationDetails(null, 1_000L));
+
+        byte[] encoded = codec.encode(token);
+
+        Authentication decoded = codec.decode(encoded);
+
+        assertThat(decoded).isExactlyInstanceOf(AjaxAuthenticationToken.class);
+        assertThat(((AccountPrincipal) decoded.getPrincipal()).getId()).isNull();
+        assertThat(((StoredAuthenticationDetails) decoded.getDetails()).getRemoteAddress())
+            .isNull();
+        assertThat(((StoredAuthenticationDetails) decoded.getDetails()).getAuthenticatedAt())
+            .isEqualTo(1_000L);
+
+        // 복원한 Authentication 을 다시 저장해도 같은 값
+        assertThat(codec.encode(decoded)).isEqualTo(encoded);
+    }
+
+    @Test
+    void unsupportedAuthenticationIsNotEncoded() {
+
+        AccountPrincipal principal = new AccountPrincipal(1L, "user", new long[0]);
+
+        assertThat(codec.encode(new UsernamePasswordAuthenticationToken(
+            principal, null, authorities))).isNull();
+        assertThat(codec.encode(new FormAuthenticationToken("user", null, authorities)))
+            .isNull();
+        assertThat(codec.encode(new AjaxAuthenticationToken(principal, null))).isNull();
+    }
+
+    @Test
+    void invalidValueIsNotDecoded() {
+
+        FormAuthenticationToken token = new FormAuthenticationToken(
+            new AccountPrincipal(1L, "user", new long[]{2}), null, authorities);
+
+        byte[] encoded = codec.encode(token);
+
+        byte[] otherVersion = encoded.clone();
+        otherVersion[0] = (byte) (AuthenticationCodec.FORMAT_VERSION + 1);
+
+        byte[] unknownType = encoded.clone();
+        unknownType[1] = 0;
+
+        assertThat(codec.decode(otherVersion)).isNull();
+        assertThat(codec.decode(unknownType)).isNull();
+        assertThat(codec.decode(Arrays.copyOf(encoded, encoded.length - 1))).isNull();
+        assertThat(codec.decode(new byte[0])).isNull();
+    }
+}
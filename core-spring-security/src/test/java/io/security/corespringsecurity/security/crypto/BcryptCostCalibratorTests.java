@@ -0,0 +1,35 @@
+package io.security.corespringsecurity.security.crypto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * 측정 시간은 서버마다 다르므로 선택된 cost 가 범위 안에 있는지만 확인 (낮은 cost 로 측정)
+ */
+class BcryptCostCalibratorTests {
+
+    @Test
+    void costStaysWithinBounds() {
+
+        for (long targetMillis : new long[]{1, 5, 20}) {
+
+            assertThat(BcryptCostCalibrator.calibrate(targetMillis, 4, 7))
+                .as("target %dms", targetMillis)
+                .isBetween(4, 7);
+        }
+    }
+
+    @Test
+    void minCostWhenTargetIsAlreadyExceeded() {
+        assertThat(BcryptCostCalibrator.calibrate(0, 5, 7)).isEqualTo(5);
+    }
+
+    @Test
+    void maxCostIsNeverExceeded() {
+        assertThat(BcryptCostCalibrator.calibrate(Long.MAX_VALUE / 1_000_000L, 4, 6))
+            .isBetween(4, 6);
+        assertThat(BcryptCostCalibrator.calibrate(Long.MAX_VALUE / 1_000_000L, 5, 5))
+            .isEqualTo(5);
+    }
+}
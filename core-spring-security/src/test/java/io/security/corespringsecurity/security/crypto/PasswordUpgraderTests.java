@@ -0,0 +1,73 @@
+package io.security.corespringsecurity.security.crypto;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+class PasswordUpgraderTests {
+
+    private final PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+    private final UserDetailsPasswordService passwordService = mock(UserDetailsPasswordService.class);
+
+    private final PasswordUpgrader passwordUpgrader = new PasswordUpgrader(passwordEncoder,
+        passwordService);
+
+    private final UserDetails user = User.withUsername("user")
+        .password("{bcrypt}old-hash")
+        .authorities("ROLE_USER")
+        .build();
+
+    @AfterEach
+    void tearDown() {
+        passwordUpgrader.shutdown();
+    }
+
+    @Test
+    void upgradesOutdatedHash() {
+
+        when(passwordEncoder.upgradeEncoding("{bcrypt}old-hash")).thenReturn(true);
+        when(passwordEncoder.encode("1111")).thenReturn("{bcrypt}new-hash");
+
+        passwordUpgrader.upgradeIfNeeded(user, "1111");
+
+        verify(passwordService, timeout(5_000)).updatePassword(user, "{bcrypt}new-hash");
+    }
+
+    @Test
+    void keepsCurrentHash() {
+
+        when(passwordEncoder.upgradeEncoding("{bcrypt}old-hash")).thenReturn(false);
+
+        passwordUpgrader.upgradeIfNeeded(user, "1111");
+
+        // upgradeEncoding 이 false 이면 작업을 등록하지 않으므로 바로 확인할 수 있다.
+        verify(passwordEncoder, never()).encode(any());
+        verify(passwordService, never()).updatePassword(any(), any());
+    }
+
+    @Test
+    void saveFailureDoesNotAffectCaller() {
+
+        when(passwordEncoder.upgradeEncoding("{bcrypt}old-hash")).thenReturn(true);
+        when(passwordEncoder.encode("1111")).thenReturn("{bcrypt}new-hash");
+        doThrow(new IllegalStateException("db down")).when(passwordService)
+            .updatePassword(any(), any());
+
+        passwordUpgrader.upgradeIfNeeded(user, "1111");
+        passwordUpgrader.upgradeIfNeeded(user, "1111");
+
+        // 실패 후에도 작업 Thread 가 계속 처리한다.
+        verify(passwordService, timeout(5_000).times(2)).updatePassword(user, "{bcrypt}new-hash");
+    }
+}
@@ -0,0 +1,157 @@
+package io.security.corespringsecurity.security.crypto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import io.security.corespringsecurity.security.handler.AjaxAuthenticationFailureHandler;
+import io.security.corespringsecurity.security.properties.PasswordHashProperties;
+
+class PasswordVerificationExecutorTests {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    // release 될 때까지 hash 계산이 끝나지 않는 PasswordEncoder
+    private final PasswordEncoder blockingEncoder = new PasswordEncoder() {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return rawPassword.toString();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            return rawPassword.toString().equals(encodedPassword);
+        }
+    };
+
+    private final ExecutorService callers = Executors.newFixedThreadPool(2);
+
+    private PasswordVerificationExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+
+        release.countDown();
+        callers.shutdownNow();
+
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void matchesOnPool() {
+
+        release.countDown();
+
+        executor = new PasswordVerificationExecutor(blockingEncoder, properties(1, 1));
+
+        assertThat(executor.matches("1111", "1111")).isTrue();
+        assertThat(executor.matches("1111", "2222")).isFalse();
+        assertThat(executor.getCompletedCount()).isEqualTo(2);
+    }
+
+    @Test
+    void rejectsWhenQueueIsFull() throws Exception {
+
+        executor = new PasswordVerificationExecutor(blockingEncoder, properties(1, 1));
+
+        // Thread 1 개는 계산 중, 대기열 1 개는 대기 중
+        Future<Boolean> running = callers.submit(() -> executor.matches("1111", "1111"));
+
+        waitUntil(() -> executor.getActiveCount() == 1);
+
+        Future<Boolean> queued = callers.submit(() -> executor.matches("1111", "1111"));
+
+        waitUntil(() -> executor.getQueueDepth() == 1);
+
+        assertThatThrownBy(() -> executor.matches("1111", "1111"))
+            .isInstanceOfSatisfying(PasswordVerificationRejectedException.class,
+                e -> assertThat(e.getRetryAfterSeconds()).isEqualTo(7));
+
+        assertThat(executor.getRejectedCount()).isEqualTo(1);
+
+        release.countDown();
+
+        assertThat(running.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void rejectionIsServiceUnavailable() throws Exception {
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new AjaxAuthenticationFailureHandler().onAuthenticationFailure(
+            new MockHttpServletRequest(), response,
+            new PasswordVerificationRejectedException("Too many login requests.", 7));
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE.value());
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("7");
+    }
+
+    @Test
+    void encoderExceptionIsPropagated() {
+
+        executor = new PasswordVerificationExecutor(new PasswordEncoder() {
+
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                throw new IllegalArgumentException("Encoded password does not look like BCrypt");
+            }
+        }, properties(1, 1));
+
+        assertThatThrownBy(() -> executor.matches("1111", "1111"))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static PasswordHashProperties properties(int poolSize, int queueCapacity) {
+
+        PasswordHashProperties properties = new PasswordHashProperties();
+
+        properties.setPoolSize(poolSize);
+        properties.setQueueCapacity(queueCapacity);
+        properties.setRetryAfterSeconds(7);
+
+        return properties;
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+
+        while (!condition.getAsBoolean()) {
+
+            assertThat(System.nanoTime()).as("timeout").isLessThan(deadline);
+
+            Thread.sleep(1);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package io.security.corespringsecurity.security.hierarchy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.access.hierarchicalroles.RoleHierarchyImpl;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+class ClosureRoleHierarchyTests {
+
+    private static final Map<String, Set<String>> HIERARCHY = Map.of(
+        "ROLE_ADMIN", Set.of("ROLE_MANAGER"),
+        "ROLE_MANAGER", Set.of("ROLE_USER", "ROLE_REPORT"));
+
+    @Test
+    void reachableAuthoritiesMatchRoleHierarchyImpl() {
+
+        ClosureRoleHierarchy closure = new ClosureRoleHierarchy();
+
+        closure.setHierarchy(HIERARCHY);
+
+        RoleHierarchyImpl expected = new RoleHierarchyImpl();
+
+        expected.setHierarchy("ROLE_ADMIN > ROLE_MANAGER\n"
+            + "ROLE_MANAGER > ROLE_USER\n"
+            + "ROLE_MANAGER > ROLE_REPORT");
+
+        for (List<GrantedAuthority> authorities : List.of(
+            AuthorityUtils.createAuthorityList("ROLE_ADMIN"),
+            AuthorityUtils.createAuthorityList("ROLE_MANAGER"),
+            AuthorityUtils.createAuthorityList("ROLE_USER"),
+            AuthorityUtils.createAuthorityList("ROLE_OTHER"),
+            AuthorityUtils.createAuthorityList("ROLE_USER", "ROLE_MANAGER"))) {
+
+            assertThat(names(closure.getReachableGrantedAuthorities(authorities)))
+                .isEqualTo(names(expected.getReachableGrantedAuthorities(authorities)));
+        }
+    }
+
+    @Test
+    void emptyAuthorities() {
+
+        ClosureRoleHierarchy closure = new ClosureRoleHierarchy();
+
+        closure.setHierarchy(HIERARCHY);
+
+        assertThat(closure.getReachableGrantedAuthorities(List.of())).isEmpty();
+        assertThat(closure.getReachableGrantedAuthorities(null)).isEmpty();
+    }
+
+    @Test
+    void setHierarchySwapsTableAndIncrementsVersion() {
+
+        ClosureRoleHierarchy closure = new ClosureRoleHierarchy();
+
+        closure.setHierarchy(HIERARCHY);
+
+        long version = closure.getVersion();
+
+        closure.setHierarchy(Map.of("ROLE_ADMIN", Set.of("ROLE_USER")));
+
+        assertThat(closure.getVersion()).isGreaterThan(version);
+        assertThat(names(closure.getReachableGrantedAuthorities(
+            AuthorityUtils.createAuthorityList("ROLE_ADMIN"))))
+            .containsExactlyInAnyOrder("ROLE_ADMIN", "ROLE_USER");
+    }
+
+    @Test
+    void cycleKeepsPreviousTable() {
+
+        ClosureRoleHierarchy closure = new ClosureRoleHierarchy();
+
+        closure.setHierarchy(HIERARCHY);
+
+        long version = closure.getVersion();
+
+        assertThatThrownBy(() -> closure.setHierarchy(Map.of(
+            "ROLE_A", Set.of("ROLE_B"),
+            "ROLE_B", Set.of("ROLE_A"))))
+            .isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(closure.getVersion()).isEqualTo(version);
+        assertThat(names(closure.getReachableGrantedAuthorities(
+            AuthorityUtils.createAuthorityList("ROLE_ADMIN"))))
+            .contains("ROLE_USER");
+    }
+
+    @Test
+    void reachableRoleBitsFollowHierarchy() {
+
+        ClosureRoleHierarchy closure = new ClosureRoleHierarchy();
+
+        closure.setHierarchy(HIERARCHY);
+
+        ExpandedRoleBits admin = closure.getReachableRoleBits(
+            AuthorityUtils.createAuthorityList("ROLE_ADMIN"));
+        ExpandedRoleBits user = closure.getReachableRoleBits(
+            AuthorityUtils.createAuthorityList("ROLE_USER"));
+
+        assertThat(admin.getVersion()).isEqualTo(closure.getVersion());
+        assertThat(admin.getRoleBits().intersects(RoleBits.of("ROLE_REPORT"))).isTrue();
+        assertThat(user.getRoleBits().intersects(RoleBits.of("ROLE_MANAGER"))).isFalse();
+        assertThat(user.getRoleBits()).isEqualTo(RoleBits.of("ROLE_USER"));
+    }
+
+    private static Set<String> names(Collection<? extends GrantedAuthority> authorities) {
+        return authorities.stream()
+            .map(GrantedAuthority::getAuthority)
+            .collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,113 @@
+package io.security.corespringsecurity.security.hierarchy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class RoleBitsTests {
+
+    @Test
+    void emptyRoleNames() {
+
+        assertThat(RoleBits.of(List.of())).isSameAs(RoleBits.EMPTY);
+        assertThat(RoleBits.EMPTY.isEmpty()).isTrue();
+        assertThat(RoleBits.EMPTY.intersects(RoleBits.EMPTY)).isFalse();
+        assertThat(RoleBits.of("ROLE_BITS_A").intersects(RoleBits.EMPTY)).isFalse();
+    }
+
+    @Test
+    void sameRoleNamesAreEqual() {
+
+        assertThat(RoleBits.of(List.of("ROLE_BITS_A", "ROLE_BITS_B")))
+            .isEqualTo(RoleBits.of(List.of("ROLE_BITS_B", "ROLE_BITS_A")))
+            .isEqualTo(RoleBits.of("ROLE_BITS_A").or(RoleBits.of("ROLE_BITS_B")))
+            .hasSameHashCodeAs(RoleBits.of(List.of("ROLE_BITS_B", "ROLE_BITS_A")));
+    }
+
+    @Test
+    void roleIdIsStable() {
+
+        int roleId = RoleIdRegistry.idOf("ROLE_BITS_STABLE");
+
+        RoleIdRegistry.register(List.of("ROLE_BITS_OTHER", "ROLE_BITS_STABLE"));
+
+        assertThat(RoleIdRegistry.idOf("ROLE_BITS_STABLE")).isEqualTo(roleId);
+        assertThat(RoleIdRegistry.size()).isGreaterThan(roleId);
+    }
+
+    @Test
+    void orKeepsOperandsUnchanged() {
+
+        RoleBits a = RoleBits.of("ROLE_BITS_A");
+        RoleBits b = RoleBits.of("ROLE_BITS_B");
+
+        RoleBits union = a.or(b);
+
+        assertThat(union.intersects(a)).isTrue();
+        assertThat(union.intersects(b)).isTrue();
+        assertThat(a.intersects(b)).isFalse();
+        assertThat(a.or(RoleBits.EMPTY)).isSameAs(a);
+        assertThat(RoleBits.EMPTY.or(a)).isSameAs(a);
+    }
+
+    /**
+     * 64 개 이상의 권한 (여러 word) 에서 Set 교집합과 동일한 결과
+     */
+    @Test
+    void sameResultAsSetIntersection() {
+
+        List<String> roleNames = new ArrayList<>();
+
+        for (int i = 0; i < 200; i++) {
+            roleNames.add("ROLE_BITS_" + i);
+        }
+
+        RoleIdRegistry.register(roleNames);
+
+        Random random = new Random(11);
+
+        for (int i = 0; i < 1_000; i++) {
+
+            Set<String> granted = sample(roleNames, random);
+            Set<String> required = sample(roleNames, random);
+
+            boolean expected = !Collections.disjoint(granted, required);
+
+            assertThat(RoleBits.of(granted).intersects(RoleBits.of(required)))
+                .as("%s / %s", granted, required)
+                .isEqualTo(expected);
+
+            assertThat(RoleBits.of(granted).or(RoleBits.of(required)))
+                .isEqualTo(RoleBits.of(union(granted, required)));
+        }
+    }
+
+    private static Set<String> sample(List<String> roleNames, Random random) {
+
+        Set<String> result = new HashSet<>();
+
+        int count = random.nextInt(4);
+
+        for (int i = 0; i < count; i++) {
+            result.add(roleNames.get(random.nextInt(roleNames.size())));
+        }
+
+        return result;
+    }
+
+    private static Set<String> union(Set<String> a, Set<String> b) {
+
+        Set<String> result = new HashSet<>(a);
+
+        result.addAll(b);
+
+        return result;
+    }
+}
@@ -0,0 +1,227 @@
+package io.security.corespringsecurity.security.metadatasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.access.ConfigAttribute;
+import org.springframework.security.access.SecurityConfig;
+
+class LiveMethodSecurityMetadataSourceTests {
+
+    private static final List<ConfigAttribute> USER = SecurityConfig.createList("ROLE_USER");
+    private static final List<ConfigAttribute> MANAGER = SecurityConfig.createList("ROLE_MANAGER");
+    private static final List<ConfigAttribute> ADMIN = SecurityConfig.createList("ROLE_ADMIN");
+
+    @Test
+    void initialRulesByMethodName() throws Exception {
+
+        LiveMethodSecurityMetadataSource source = new LiveMethodSecurityMetadataSource(
+            Map.of(SampleService.class.getName() + ".getUser", USER));
+
+        assertThat(source.getAttributes(method("getUser"), SampleService.class)).isEqualTo(USER);
+        assertThat(source.getAttributes(method("deleteUser"), SampleService.class)).isNull();
+        assertThat(source.getAttributes(method("getUser"), OtherService.class)).isNull();
+
+        // targetClass 가 없으면 Method 를 선언한 Class 기준
+        assertThat(source.getAttributes(method("getUser"), null)).isEqualTo(USER);
+
+        assertThat(source.hasRules(SampleService.class)).isTrue();
+        assertThat(source.hasRules(OtherService.class)).isFalse();
+        assertThat(source.getSecuredTypes()).containsExactly(SampleService.class);
+        assertThat(source.getAllConfigAttributes()).containsExactlyElementsOf(USER);
+    }
+
+    @Test
+    void exactNameBeforeLongestPattern() throws Exception {
+
+        LiveMethodSecurityMetadataSource source = new LiveMethodSecurityMetadataSource(Map.of());
+
+        source.addSecureMethod(SampleService.class, "get*", USER);
+        source.addSecureMethod(SampleService.class, "getUser*", MANAGER);
+        source.addSecureMethod(SampleService.class, "getUser", ADMIN);
+
+        assertThat(source.getAttributes(method("getUser"), SampleService.class)).isEqualTo(ADMIN);
+        assertThat(source.getAttributes(method("getUserList"), SampleService.class))
+            .isEqualTo(MANAGER);
+        assertThat(source.getAttributes(method("getRole"), SampleService.class)).isEqualTo(USER);
+        assertThat(source.getAttributes(method("deleteUser"), SampleService.class)).isNull();
+    }
+
+    @Test
+    void parentClassRulesApplyToSubclass() throws Exception {
+
+        LiveMethodSecurityMetadataSource source = new LiveMethodSecurityMetadataSource(
+            Map.of(SampleService.class.getName() + ".get*", USER));
+
+        Method getUser = SubSampleService.class.getMethod("getUser");
+
+        assertThat(source.hasRules(SubSampleService.class)).isTrue();
+        assertThat(source.getAttributes(getUser, SubSampleService.class)).isEqualTo(USER);
+        assertThat(source.getAttributes(method("deleteUser"), SubSampleService.class)).isNull();
+
+        // 가까운 Class 에 등록된 권한 우선
+        source.addSecureMethod(SubSampleService.class, "getUser", ADMIN);
+
+        assertThat(source.getAttributes(getUser, SubSampleService.class)).isEqualTo(ADMIN);
+        assertThat(source.getAttributes(method("getRole"), SubSampleService.class))
+            .isEqualTo(USER);
+        assertThat(source.getAttributes(getUser, SampleService.class)).isEqualTo(USER);
+    }
+
+    @Test
+    void allConfigAttributesAreComputedPerTable() {
+
+        LiveMethodSecurityMetadataSource source = new LiveMethodSecurityMetadataSource(Map.of());
+
+        source.addSecureMethod(SampleService.class, "getUser", USER);
+
+        Collection<ConfigAttribute> attributes = source.getAllConfigAttributes();
+
+        assertThat(source.getAllConfigAttributes()).isSameAs(attributes);
+        assertThat(attributes).containsExactlyElementsOf(USER);
+
+        source.addSecureMethod(OtherService.class, "getUser", ADMIN);
+
+        assertThat(source.getAllConfigAttributes())
+            .containsExactlyInAnyOrder(USER.get(0), ADMIN.get(0));
+    }
+
+    @Test
+    void resolvedAttributesAreCachedUntilTableChanges() throws Exception {
+
+        LiveMethodSecurityMetadataSource source = new LiveMethodSecurityMetadataSource(Map.of());
+
+        source.addSecureMethod(SampleService.class, "get*", USER);
+
+        long version = source.getVersion();
+
+        Collection<ConfigAttribute> first = source.getAttributes(method("getUser"),
+            SampleService.class);
+
+        assertThat(source.getAttributes(method("getUser"), SampleService.class)).isSameAs(first);
+
+        // 권한이 없는 Method 의 조회 결과도 Table 이 교체되면 다시 계산한다.
+        assertThat(source.getAttributes(method("deleteUser"), SampleService.class)).isNull();
+
+        source.addSecureMethod(SampleService.class, "deleteUser", ADMIN);
+
+        assertThat(source.getVersion()).isEqualTo(version + 1);
+        assertThat(source.getAttributes(method("deleteUser"), SampleService.class))
+            .isEqualTo(ADMIN);
+
+        source.addSecureMethod(SampleService.class, "get*", MANAGER);
+
+        assertThat(source.getAttributes(method("getUser"), SampleService.class))
+            .isEqualTo(MANAGER);
+    }
+
+    @Test
+    void removeSecureMethod() throws Exception {
+
+        LiveMethodSecurityMetadataSource source = new LiveMethodSecurityMetadataSource(Map.of());
+
+        source.addSecureMethod(SampleService.class, "getUser", USER);
+        source.addSecureMethod(SampleService.class, "deleteUser", ADMIN);
+
+        source.removeSecureMethod(SampleService.class, "getUser");
+
+        assertThat(source.getAttributes(method("getUser"), SampleService.class)).isNull();
+        assertThat(source.hasRules(SampleService.class)).isTrue();
+
+        source.removeSecureMethod(SampleService.class, "deleteUser");
+
+        assertThat(source.hasRules(SampleService.class)).isFalse();
+        assertThat(source.getSecuredTypes()).isEmpty();
+
+        long version = source.getVersion();
+
+        // 권한이 없는 Class 는 Table 을 교체하지 않는다.
+        source.removeSecureMethod(OtherService.class, "getUser");
+
+        assertThat(source.getVersion()).isEqualTo(version);
+    }
+
+    @Test
+    void concurrentReadsDuringUpdates() throws Exception {
+
+        LiveMethodSecurityMetadataSource source = new LiveMethodSecurityMetadataSource(Map.of());
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        AtomicBoolean running = new AtomicBoolean(true);
+
+        Method getUser = method("getUser");
+
+        try {
+            List<Future<?>> readers = new ArrayList<>();
+
+            for (int i = 0; i < 4; i++) {
+                readers.add(executor.submit(() -> {
+                    while (running.get()) {
+
+                        Collection<ConfigAttribute> attributes =
+                            source.getAttributes(getUser, SampleService.class);
+
+                        // 변경 중에도 이전 Table 이나 새 Table 중 하나의 결과만 보인다.
+                        assertThat(attributes == null || attributes.equals(USER)
+                            || attributes.equals(MANAGER)).isTrue();
+                    }
+                }));
+            }
+
+            for (int i = 0; i < 1_000; i++) {
+                source.addSecureMethod(SampleService.class, "getUser", i % 2 == 0 ? USER : MANAGER);
+                source.removeSecureMethod(SampleService.class, "getUser");
+            }
+
+            running.set(false);
+
+            for (Future<?> reader : readers) {
+                reader.get(5, TimeUnit.SECONDS);
+            }
+
+        } finally {
+            running.set(false);
+            executor.shutdownNow();
+        }
+
+        assertThat(source.getVersion()).isEqualTo(2_001L);
+        assertThat(source.getAttributes(getUser, SampleService.class)).isNull();
+    }
+
+    private static Method method(String name) throws NoSuchMethodException {
+        return SampleService.class.getMethod(name);
+    }
+
+    static class SampleService {
+
+        public void getUser() {
+        }
+
+        public void getUserList() {
+        }
+
+        public void getRole() {
+        }
+
+        public void deleteUser() {
+        }
+    }
+
+    static class SubSampleService extends SampleService {
+    }
+
+    static class OtherService {
+    }
+}
@@ -0,0 +1,103 @@
+package io.security.corespringsecurity.security.metadatasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.access.ConfigAttribute;
+import org.springframework.security.web.FilterInvocation;
+
+import io.security.corespringsecurity.domain.entity.Resources;
+import io.security.corespringsecurity.domain.entity.Role;
+import io.security.corespringsecurity.repository.AccessIpRepository;
+import io.security.corespringsecurity.repository.ResourcesRepository;
+import io.security.corespringsecurity.security.common.ConfigAttributePool;
+import io.security.corespringsecurity.security.service.SecurityResourceService;
+
+class UrlFilterInvocationSecurityMetadataSourceTests {
+
+    private final SecurityResourceService securityResourceService = new SecurityResourceService(
+        mock(ResourcesRepository.class), mock(AccessIpRepository.class));
+
+    private final UrlFilterInvocationSecurityMetadataSource metadataSource =
+        new UrlFilterInvocationSecurityMetadataSource(
+            List.of(new UrlSecurityRule(1L, 10, "/admin/**", null,
+                ConfigAttributePool.listOf("ROLE_ADMIN"))),
+            securityResourceService, "/login");
+
+    @Test
+    void resourceWithoutRolesDoesNotHideLowerPriorityRule() {
+
+        metadataSource.addResource(url(2L, 20, Set.of()));
+
+        assertThat(attributes("/admin/users")).containsExactly("ROLE_ADMIN");
+    }
+
+    @Test
+    void resourceWhoseRolesWereClearedIsRemoved() {
+
+        metadataSource.addResource(url(2L, 20, Set.of(role("ROLE_MANAGER"))));
+
+        assertThat(attributes("/admin/users")).containsExactly("ROLE_MANAGER");
+
+        metadataSource.addResource(url(2L, 20, Set.of()));
+
+        assertThat(attributes("/admin/users")).containsExactly("ROLE_ADMIN");
+    }
+
+    @Test
+    void permitAllResourceIsStillApplied() {
+
+        metadataSource.addResource(Resources.builder()
+            .id(3L)
+            .resourceName("/admin/public/**")
+            .orderNum(30)
+            .resourceType("permitAll")
+            .build());
+
+        assertThat(attributes("/admin/public/notice")).isEmpty();
+        assertThat(attributes("/login")).isEmpty();
+    }
+
+    private List<String> attributes(String servletPath) {
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", servletPath);
+
+        request.setServletPath(servletPath);
+
+        Collection<ConfigAttribute> attributes = metadataSource.getAttributes(
+            new FilterInvocation(request, new MockHttpServletResponse(), new MockFilterChain()));
+
+        if (attributes == null) {
+            return List.of();
+        }
+
+        return attributes.stream()
+            .map(ConfigAttribute::getAttribute)
+            .collect(Collectors.toList());
+    }
+
+    private static Resources url(Long id, int orderNum, Set<Role> roles) {
+        return Resources.builder()
+            .id(id)
+            .resourceName("/admin/**")
+            .orderNum(orderNum)
+            .resourceType("url")
+            .roleSet(roles)
+            .build();
+    }
+
+    private static Role role(String roleName) {
+        return Role.builder()
+            .roleName(roleName)
+            .build();
+    }
+}
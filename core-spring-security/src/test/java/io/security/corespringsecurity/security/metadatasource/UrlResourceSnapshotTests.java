@@ -0,0 +1,62 @@
+package io.security.corespringsecurity.security.metadatasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.security.corespringsecurity.security.common.ConfigAttributePool;
+
+class UrlResourceSnapshotTests {
+
+    private final UrlSecurityRule high = rule(1L, 30, "/admin/users/**");
+    private final UrlSecurityRule low = rule(2L, 10, "/admin/**");
+
+    @Test
+    void addKeepsOrderNumDescending() {
+
+        UrlResourceSnapshot snapshot = UrlResourceSnapshot.of(1, List.of(high, low));
+
+        UrlSecurityRule middle = rule(3L, 20, "/admin/config/**");
+
+        UrlResourceSnapshot added = snapshot.add(2, middle);
+
+        assertThat(added.getVersion()).isEqualTo(2);
+        assertThat(added.getRules()).containsExactly(high, middle, low);
+
+        // 기존 Snapshot 은 변경되지 않는다.
+        assertThat(snapshot.getRules()).containsExactly(high, low);
+        assertThat(snapshot.getUrlRuleIndex().size()).isEqualTo(2);
+    }
+
+    @Test
+    void addReplacesSameResourceId() {
+
+        UrlResourceSnapshot snapshot = UrlResourceSnapshot.of(1, List.of(high, low));
+
+        UrlSecurityRule moved = rule(2L, 40, "/admin/**");
+
+        UrlResourceSnapshot added = snapshot.add(2, moved);
+
+        assertThat(added.getRules()).containsExactly(moved, high);
+    }
+
+    @Test
+    void remove() {
+
+        UrlResourceSnapshot snapshot = UrlResourceSnapshot.of(1, List.of(high, low));
+
+        UrlResourceSnapshot removed = snapshot.remove(2, 1L);
+
+        assertThat(removed.getRules()).containsExactly(low);
+        assertThat(removed.contains(1L)).isFalse();
+        assertThat(removed.contains(2L)).isTrue();
+        assertThat(snapshot.contains(1L)).isTrue();
+    }
+
+    private static UrlSecurityRule rule(Long resourceId, int orderNum, String pattern) {
+        return new UrlSecurityRule(resourceId, orderNum, pattern, null,
+            ConfigAttributePool.listOf("ROLE_" + resourceId));
+    }
+}
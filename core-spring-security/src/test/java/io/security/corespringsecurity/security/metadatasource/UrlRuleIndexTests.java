@@ -0,0 +1,132 @@
+package io.security.corespringsecurity.security.metadatasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import io.security.corespringsecurity.security.common.ConfigAttributePool;
+
+/**
+ * UrlRuleIndex (UrlPathTrie) 와 RequestMatcher 순차 탐색의 결과 비교
+ */
+class UrlRuleIndexTests {
+
+    private static final String[] PATTERN_SEGMENTS = {"admin", "user", "api", "*", "**", "*.html",
+        "u?er", "{id}"};
+
+    private static final String[] PATH_SEGMENTS = {"admin", "user", "api", "uxer", "index.html",
+        "1", "x"};
+
+    private static final String[] HTTP_METHODS = {null, "GET", "POST"};
+
+    @Test
+    void sameResultAsLinearScan() {
+
+        Random random = new Random(42);
+
+        for (int round = 0; round < 50; round++) {
+
+            List<UrlSecurityRule> rules = new ArrayList<>();
+
+            for (int i = 0; i < 30; i++) {
+
+                String pattern = randomPath(random, PATTERN_SEGMENTS, 1 + random.nextInt(4));
+                String httpMethod = HTTP_METHODS[random.nextInt(HTTP_METHODS.length)];
+
+                rules.add(random.nextInt(10) == 0
+                    ? UrlSecurityRule.permitAll((long) i, 0, pattern, httpMethod)
+                    : new UrlSecurityRule((long) i, 0, pattern, httpMethod,
+                        ConfigAttributePool.listOf("ROLE_" + i)));
+            }
+
+            UrlRuleIndex index = UrlRuleIndex.compile(rules);
+
+            for (int i = 0; i < 200; i++) {
+
+                String path = randomPath(random, PATH_SEGMENTS, random.nextInt(5));
+
+                if (!"/".equals(path) && random.nextInt(5) == 0) {
+                    path = path + "/";
+                }
+
+                MockHttpServletRequest request = request(random.nextBoolean() ? "GET" : "POST",
+                    path);
+
+                assertThat(index.resolve(request))
+                    .as("%s %s", request.getMethod(), path)
+                    .isSameAs(linearScan(rules, request));
+            }
+        }
+    }
+
+    @Test
+    void permitAllRulesComeFirst() {
+
+        UrlSecurityRule admin = new UrlSecurityRule(1L, 10, "/admin/**", null,
+            ConfigAttributePool.listOf("ROLE_ADMIN"));
+        UrlSecurityRule permitAll = UrlSecurityRule.permitAll(2L, 0, "/admin/public/**", null);
+
+        UrlRuleIndex index = UrlRuleIndex.compile(List.of(admin, permitAll));
+
+        assertThat(index.resolve(request("GET", "/admin/public/a"))).isSameAs(permitAll);
+        assertThat(index.getAttributes(request("GET", "/admin/public/a"))).isEmpty();
+        assertThat(index.resolve(request("GET", "/admin/users"))).isSameAs(admin);
+        assertThat(index.resolve(request("GET", "/mypage"))).isNull();
+    }
+
+    @Test
+    void httpMethodSpecificRules() {
+
+        UrlSecurityRule post = new UrlSecurityRule(1L, 10, "/api/users", "POST",
+            ConfigAttributePool.listOf("ROLE_ADMIN"));
+        UrlSecurityRule any = new UrlSecurityRule(2L, 0, "/api/**", null,
+            ConfigAttributePool.listOf("ROLE_USER"));
+
+        UrlRuleIndex index = UrlRuleIndex.compile(List.of(post, any));
+
+        assertThat(index.resolve(request("POST", "/api/users"))).isSameAs(post);
+        assertThat(index.resolve(request("GET", "/api/users"))).isSameAs(any);
+    }
+
+    private static UrlSecurityRule linearScan(List<UrlSecurityRule> rules,
+        MockHttpServletRequest request) {
+
+        List<UrlSecurityRule> ordered = new ArrayList<>();
+
+        rules.stream().filter(UrlSecurityRule::isPermitAll).forEach(ordered::add);
+        rules.stream().filter(rule -> !rule.isPermitAll()).forEach(ordered::add);
+
+        for (UrlSecurityRule rule : ordered) {
+            if (rule.getRequestMatcher().matches(request)) {
+                return rule;
+            }
+        }
+
+        return null;
+    }
+
+    private static String randomPath(Random random, String[] segments, int depth) {
+
+        StringBuilder path = new StringBuilder();
+
+        for (int i = 0; i < depth; i++) {
+            path.append('/').append(segments[random.nextInt(segments.length)]);
+        }
+
+        return path.length() == 0 ? "/" : path.toString();
+    }
+
+    private static MockHttpServletRequest request(String method, String path) {
+
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+
+        request.setServletPath(path);
+
+        return request;
+    }
+}
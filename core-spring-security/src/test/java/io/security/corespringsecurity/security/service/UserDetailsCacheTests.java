@@ -0,0 +1,142 @@
+package io.security.corespringsecurity.security.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import io.security.corespringsecurity.domain.dto.AccountAuthenticationRow;
+import io.security.corespringsecurity.security.properties.UserDetailsCacheProperties;
+
+class UserDetailsCacheTests {
+
+    private final AtomicInteger loadCount = new AtomicInteger();
+
+    private final Function<String, AccountSnapshot> loader = username -> {
+        loadCount.incrementAndGet();
+        return snapshot(username);
+    };
+
+    @Test
+    void loadedSnapshotIsCached() {
+
+        UserDetailsCache cache = new UserDetailsCache(new UserDetailsCacheProperties());
+
+        AccountSnapshot first = cache.get("user", loader);
+        AccountSnapshot second = cache.get("user", loader);
+
+        assertThat(second).isSameAs(first);
+        assertThat(loadCount).hasValue(1);
+        assertThat(cache.getSize()).isEqualTo(1);
+    }
+
+    @Test
+    void evictRemovesSnapshot() {
+
+        UserDetailsCache cache = new UserDetailsCache(new UserDetailsCacheProperties());
+
+        cache.get("user", loader);
+        cache.get("admin", loader);
+
+        cache.evict("user");
+
+        cache.get("user", loader);
+        cache.get("admin", loader);
+
+        assertThat(loadCount).hasValue(3);
+
+        cache.evictAll();
+
+        assertThat(cache.getSize()).isZero();
+    }
+
+    /**
+     * 조회 중 evict 된 경우 이전 값일 수 있으므로 저장하지 않는다.
+     */
+    @Test
+    void snapshotLoadedDuringEvictIsNotCached() {
+
+        UserDetailsCache cache = new UserDetailsCache(new UserDetailsCacheProperties());
+
+        AccountSnapshot loaded = cache.get("user", username -> {
+            AccountSnapshot snapshot = loader.apply(username);
+            cache.evict(username);
+            return snapshot;
+        });
+
+        assertThat(loaded.getUsername()).isEqualTo("user");
+        assertThat(cache.getSize()).isZero();
+
+        cache.get("user", loader);
+
+        assertThat(loadCount).hasValue(2);
+    }
+
+    @Test
+    void failedLoadIsNotCached() {
+
+        UserDetailsCache cache = new UserDetailsCache(new UserDetailsCacheProperties());
+
+        assertThatThrownBy(() -> cache.get("user", username -> {
+            throw new UsernameNotFoundException("not found username.");
+        })).isInstanceOf(UsernameNotFoundException.class);
+
+        cache.get("user", loader);
+
+        assertThat(loadCount).hasValue(1);
+    }
+
+    @Test
+    void disabledCacheAlwaysLoads() {
+
+        UserDetailsCacheProperties properties = new UserDetailsCacheProperties();
+
+        properties.setEnabled(false);
+
+        UserDetailsCache cache = new UserDetailsCache(properties);
+
+        cache.get("user", loader);
+        cache.get("user", loader);
+        cache.evict("user");
+
+        assertThat(loadCount).hasValue(2);
+        assertThat(cache.getSize()).isZero();
+    }
+
+    private static AccountSnapshot snapshot(String username) {
+
+        AccountAuthenticationRow row = new AccountAuthenticationRow() {
+            @Override
+            public Long getId() {
+                return 1L;
+            }
+
+            @Override
+            public String getUsername() {
+                return username;
+            }
+
+            @Override
+            public String getPassword() {
+                return "{noop}1111";
+            }
+
+            @Override
+            public Long getRoleId() {
+                return 1L;
+            }
+
+            @Override
+            public String getRoleName() {
+                return "ROLE_USER";
+            }
+        };
+
+        return AccountSnapshot.from(List.of(row));
+    }
+}
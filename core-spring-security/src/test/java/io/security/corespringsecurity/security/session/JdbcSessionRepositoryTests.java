@@ -0,0 +1,236 @@
+package io.security.corespringsecurity.security.session;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import io.security.corespringsecurity.security.properties.SessionStoreProperties;
+
+/**
+ * 서버 두 대 (repository 두 개) 가 같은 Postgres 를 사용하는 경우
+ *
+ * <pre>
+ *      - local Postgres (application.yml) 필요
+ *      - 각 repository 가 직접 transaction 을 사용하므로 test transaction 은 사용하지 않는다.
+ * </pre>
+ */
+@JdbcTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class JdbcSessionRepositoryTests {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private JdbcSessionRepository node1;
+    private JdbcSessionRepository node2;
+
+    @BeforeEach
+    void setUp() {
+
+        SessionStoreProperties properties = new SessionStoreProperties();
+
+        // flush, cleanup 은 test 에서 직접 호출
+        properties.setFlushInterval(Duration.ofHours(1));
+        properties.setCleanupInterval(Duration.ofHours(1));
+
+        node1 = new JdbcSessionRepository(jdbcTemplate, transactionManager, properties);
+        node2 = new JdbcSessionRepository(jdbcTemplate, transactionManager, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        node1.shutdown();
+        node2.shutdown();
+    }
+
+    @Test
+    void createdSessionIsVisibleOnAnotherNodeWithoutFlush() {
+
+        StoredSession session = node1.createSession();
+
+        session.setAttribute("csrf", "token-1");
+
+        node1.save(session);
+
+        StoredSession found = node2.findById(session.getId());
+
+        assertThat(found).isNotNull();
+        assertThat((String) found.getAttribute("csrf")).isEqualTo("token-1");
+    }
+
+    @Test
+    void changedAttributeIsVisibleOnAnotherNodeWithCachedCopy() {
+
+        StoredSession session = node1.createSession();
+
+        session.setAttribute("csrf", "token-1");
+
+        node1.save(session);
+
+        // node2 near cache
+        assertThat(node2.findById(session.getId())).isNotNull();
+
+        StoredSession modified = node1.findById(session.getId());
+
+        modified.setAttribute("csrf", "token-2");
+
+        node1.save(modified);
+
+        assertThat((String) node2.findById(session.getId()).getAttribute("csrf"))
+            .isEqualTo("token-2");
+    }
+
+    @Test
+    void changeSessionIdInvalidatesOldIdOnEveryNode() {
+
+        StoredSession session = node1.createSession();
+
+        session.setAttribute("user", "user-1");
+
+        node1.save(session);
+
+        String oldId = session.getId();
+
+        // node2 가 이전 Session 을 가지고 있는 상태
+        StoredSession staleCopy = node2.findById(oldId);
+
+        assertThat(staleCopy).isNotNull();
+
+        StoredSession loggedIn = node1.findById(oldId);
+
+        String newId = loggedIn.changeSessionId();
+
+        node1.save(loggedIn);
+
+        assertThat(node2.findById(oldId)).isNull();
+        assertThat((String) node2.findById(newId).getAttribute("user")).isEqualTo("user-1");
+
+        // 이전 Session 의 마지막 접근 시각 저장은 Session id 를 되돌리지 않는다.
+        staleCopy.setLastAccessedTime(Instant.now());
+
+        node2.save(staleCopy);
+        node2.flush();
+
+        assertThat(node1.findById(oldId)).isNull();
+        assertThat(node1.findById(newId)).isNotNull();
+    }
+
+    @Test
+    void staleNodeCannotChangeIdOfAlreadyChangedSession() {
+
+        StoredSession session = node1.createSession();
+
+        node1.save(session);
+
+        StoredSession copy1 = node1.findById(session.getId());
+        StoredSession copy2 = node2.findById(session.getId());
+
+        String newId1 = copy1.changeSessionId();
+
+        node1.save(copy1);
+
+        String newId2 = copy2.changeSessionId();
+
+        node2.save(copy2);
+
+        assertThat(node1.findById(newId1)).isNotNull();
+        assertThat(node1.findById(newId2)).isNull();
+    }
+
+    @Test
+    void deletedSessionIsRemovedOnEveryNode() {
+
+        StoredSession session = node1.createSession();
+
+        node1.save(session);
+
+        assertThat(node2.findById(session.getId())).isNotNull();
+
+        node1.deleteById(session.getId());
+
+        assertThat(node2.findById(session.getId())).isNull();
+        assertThat(node1.findById(session.getId())).isNull();
+    }
+
+    /**
+     * 배포로 저장된 Class 가 변경된 경우
+     */
+    @Test
+    void sessionWithUnreadableAttributeIsRemoved() {
+
+        StoredSession session = node1.createSession();
+
+        session.setAttribute("csrf", "token-1");
+
+        node1.save(session);
+
+        jdbcTemplate.update(
+            "update app_session_attributes set attribute_bytes = ? where session_primary_id = ?",
+            new byte[]{1, 2, 3}, session.getPrimaryId());
+
+        assertThat(node2.findById(session.getId())).isNull();
+
+        assertThat(jdbcTemplate.queryForObject(
+            "select count(*) from app_session where session_id = ?", Integer.class,
+            session.getId())).isZero();
+    }
+
+    @Test
+    void expiredSessionsAreCleanedUp() {
+
+        StoredSession session = node1.createSession();
+
+        session.setMaxInactiveInterval(Duration.ofSeconds(1));
+        session.setLastAccessedTime(Instant.now().minus(Duration.ofHours(1)));
+        session.setAttribute("csrf", "token-1");
+
+        node1.save(session);
+
+        assertThat(node2.cleanUpExpiredSessions()).isGreaterThanOrEqualTo(1);
+
+        assertThat(jdbcTemplate.queryForObject(
+            "select count(*) from app_session where session_id = ?", Integer.class,
+            session.getId())).isZero();
+        assertThat(node1.findById(session.getId())).isNull();
+    }
+
+    @Test
+    void touchIsWrittenOnFlush() {
+
+        StoredSession session = node1.createSession();
+
+        node1.save(session);
+
+        StoredSession found = node1.findById(session.getId());
+
+        Instant lastAccessedTime = Instant.now().plus(Duration.ofMinutes(1));
+
+        found.setLastAccessedTime(lastAccessedTime);
+
+        node1.save(found);
+
+        assertThat(node1.getPendingWriteCount()).isEqualTo(1);
+
+        node1.flush();
+
+        assertThat(jdbcTemplate.queryForObject(
+            "select last_access_time from app_session where session_id = ?", Long.class,
+            session.getId())).isEqualTo(lastAccessedTime.toEpochMilli());
+    }
+}
@@ -0,0 +1,184 @@
+package io.security.corespringsecurity.security.token;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.security.corespringsecurity.security.properties.ApiTokenProperties;
+
+/**
+ * 서버 두 대 (폐기 목록 두 개) 가 같은 Postgres 를 사용하는 경우
+ *
+ * <pre>
+ *      - local Postgres (application.yml) 필요
+ * </pre>
+ */
+@JdbcTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ApiTokenRevocationListTests {
+
+    private static final Duration TTL = Duration.ofMinutes(30);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ApiTokenRevocationList node1;
+    private ApiTokenRevocationList node2;
+
+    @BeforeEach
+    void setUp() {
+
+        ApiTokenProperties properties = new ApiTokenProperties();
+
+        properties.setEnabled(true);
+        properties.setTtl(TTL);
+        properties.setRevocationCapacity(16);
+        properties.setRevocationRefreshInterval(Duration.ofHours(1));
+        properties.setRevocationSyncOverlap(Duration.ofMinutes(1));
+
+        node1 = new ApiTokenRevocationList(jdbcTemplate, properties);
+        node2 = new ApiTokenRevocationList(jdbcTemplate, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        node1.shutdown();
+        node2.shutdown();
+    }
+
+    @Test
+    void revokedTokenIsVisibleOnAnotherNodeAfterRefresh() {
+
+        long now = System.currentTimeMillis();
+
+        ApiTokenClaims revoked = claims(null, now, now + TTL.toMillis());
+        ApiTokenClaims other = claims(null, now, now + TTL.toMillis());
+
+        node1.revokeToken(revoked);
+
+        assertThat(node1.isRevoked(revoked)).isTrue();
+
+        node2.refresh(System.currentTimeMillis());
+
+        assertThat(node2.isRevoked(revoked)).isTrue();
+        assertThat(node2.isRevoked(other)).isFalse();
+    }
+
+    @Test
+    void lateCommittedRevocationIsNotSkipped() {
+
+        long now = System.currentTimeMillis();
+
+        node1.revokeToken(claims(null, now, now + TTL.toMillis()));
+
+        node2.refresh(System.currentTimeMillis());
+
+        Long principalId = randomPrincipalId();
+
+        // 이미 읽은 행보다 먼저 insert 되었지만 늦게 commit 된 행
+        long createdAt = jdbcTemplate.queryForObject(
+            "select max(created_at) from api_token_revocation", Long.class) - 10_000;
+
+        jdbcTemplate.update("insert into api_token_revocation (token_id, principal_id, not_before, expires_at, created_at) "
+            + "values (null, ?, ?, ?, ?)", principalId, now, now + TTL.toMillis(), createdAt);
+
+        node2.refresh(System.currentTimeMillis());
+
+        assertThat(node2.isRevoked(claims(principalId, now - 1_000, now + TTL.toMillis())))
+            .isTrue();
+        assertThat(node2.isRevoked(claims(principalId, now + 1_000, now + TTL.toMillis())))
+            .isFalse();
+    }
+
+    @Test
+    void rolledBackUserRevocationIsNotApplied() {
+
+        Long principalId = randomPrincipalId();
+
+        ApiTokenClaims issued = claims(principalId, System.currentTimeMillis() - 1_000,
+            System.currentTimeMillis() + TTL.toMillis());
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        transactionTemplate.executeWithoutResult(status -> {
+
+            node1.revokeUser(principalId);
+
+            status.setRollbackOnly();
+        });
+
+        assertThat(node1.isRevoked(issued)).isFalse();
+
+        transactionTemplate.executeWithoutResult(status -> node1.revokeUser(principalId));
+
+        assertThat(node1.isRevoked(issued)).isTrue();
+    }
+
+    @Test
+    void expiredRevocationsAreRemoved() {
+
+        ApiTokenProperties properties = new ApiTokenProperties();
+
+        properties.setEnabled(true);
+        properties.setTtl(Duration.ofSeconds(1));
+        properties.setRevocationRefreshInterval(Duration.ofHours(1));
+
+        ApiTokenRevocationList shortLived = new ApiTokenRevocationList(jdbcTemplate, properties);
+
+        try {
+            long now = System.currentTimeMillis();
+
+            Long principalId = randomPrincipalId();
+
+            ApiTokenClaims token = claims(null, now, now + 1_000);
+            ApiTokenClaims userToken = claims(principalId, now - 500, now + 1_000);
+
+            shortLived.revokeToken(token);
+            shortLived.revokeUser(principalId);
+
+            assertThat(shortLived.isRevoked(token)).isTrue();
+            assertThat(shortLived.isRevoked(userToken)).isTrue();
+
+            // 폐기된 Token 이 모두 만료된 후
+            shortLived.refresh(System.currentTimeMillis() + 2_000);
+
+            assertThat(shortLived.isRevoked(token)).isFalse();
+            assertThat(shortLived.isRevoked(userToken)).isFalse();
+            assertThat(jdbcTemplate.queryForObject(
+                "select count(*) from api_token_revocation where token_id = ? or principal_id = ?",
+                Integer.class, token.getTokenId(), principalId)).isZero();
+
+        } finally {
+            shortLived.shutdown();
+        }
+    }
+
+    private static ApiTokenClaims claims(Long principalId, long issuedAt, long expiresAt) {
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        return new ApiTokenClaims(random.nextLong(), random.nextLong(), issuedAt, expiresAt,
+            principalId, null);
+    }
+
+    private static Long randomPrincipalId() {
+        return ThreadLocalRandom.current().nextLong(1_000_000_000L, Long.MAX_VALUE);
+    }
+}
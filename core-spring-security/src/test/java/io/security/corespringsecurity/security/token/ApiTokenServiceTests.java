@@ -0,0 +1,180 @@
+package io.security.corespringsecurity.security.token;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import io.security.corespringsecurity.security.properties.ApiTokenProperties;
+import io.security.corespringsecurity.security.service.AccountPrincipal;
+
+class ApiTokenServiceTests {
+
+    private static final String KEY_1 = key(1);
+    private static final String KEY_2 = key(2);
+
+    private final Authentication authentication = new AjaxAuthenticationToken(
+        new AccountPrincipal(1L, "user", new long[]{2}), null,
+        AuthorityUtils.createAuthorityList("ROLE_USER"));
+
+    @Test
+    void issuedTokenIsVerified() {
+
+        ApiTokenService service = service("k1", Map.of("k1", KEY_1), Duration.ofMinutes(30));
+
+        String token = service.issue(authentication);
+
+        assertThat(token).startsWith("k1.");
+
+        Authentication verified = service.verify(token);
+
+        assertThat(verified).isExactlyInstanceOf(AjaxAuthenticationToken.class);
+        assertThat(verified.getPrincipal()).isEqualTo(authentication.getPrincipal());
+        assertThat(AuthorityUtils.authorityListToSet(verified.getAuthorities()))
+            .containsExactly("ROLE_USER");
+
+        ApiTokenClaims claims = service.parse(token);
+
+        assertThat(claims.getPrincipalId()).isEqualTo(1L);
+        assertThat(claims.getExpiresAt() - claims.getIssuedAt())
+            .isEqualTo(Duration.ofMinutes(30).toMillis());
+
+        // token id 는 발급 마다 다르다.
+        assertThat(service.parse(service.issue(authentication)).getTokenId())
+            .isNotEqualTo(claims.getTokenId());
+    }
+
+    @Test
+    void keyRotation() {
+
+        ApiTokenService before = service("k1", Map.of("k1", KEY_1), Duration.ofMinutes(30));
+        ApiTokenService rotating = service("k2", Map.of("k1", KEY_1, "k2", KEY_2),
+            Duration.ofMinutes(30));
+        ApiTokenService after = service("k2", Map.of("k2", KEY_2), Duration.ofMinutes(30));
+
+        String oldToken = before.issue(authentication);
+        String newToken = rotating.issue(authentication);
+
+        assertThat(newToken).startsWith("k2.");
+
+        // 교체 중에는 이전 key 로 서명된 Token 도 검증
+        assertThat(rotating.verify(oldToken)).isNotNull();
+        assertThat(after.verify(newToken)).isNotNull();
+
+        // 등록되지 않은 key
+        assertThat(before.verify(newToken)).isNull();
+        assertThat(after.verify(oldToken)).isNull();
+    }
+
+    @Test
+    void tamperedTokenIsRejected() {
+
+        ApiTokenService service = service("k1", Map.of("k1", KEY_1, "k2", KEY_2),
+            Duration.ofMinutes(30));
+
+        String token = service.issue(authentication);
+        String other = service.issue(authentication);
+
+        String[] parts = token.split("\\.");
+
+        char[] payload = parts[1].toCharArray();
+        payload[payload.length / 2] = payload[payload.length / 2] == 'A' ? 'B' : 'A';
+
+        assertThat(service.verify(parts[0] + '.' + new String(payload) + '.' + parts[2]))
+            .isNull();
+
+        // 다른 Token 의 서명
+        assertThat(service.verify(parts[0] + '.' + parts[1] + '.' + other.split("\\.")[2]))
+            .isNull();
+
+        // 다른 key id
+        assertThat(service.verify("k2." + parts[1] + '.' + parts[2])).isNull();
+
+        // 같은 key id, 다른 key
+        assertThat(service("k1", Map.of("k1", KEY_2), Duration.ofMinutes(30)).verify(token))
+            .isNull();
+    }
+
+    @Test
+    void malformedTokenIsRejected() {
+
+        ApiTokenService service = service("k1", Map.of("k1", KEY_1), Duration.ofMinutes(30));
+
+        for (String token : new String[]{"", "k1", "k1.", "k1.payload", ".payload.signature",
+            "k1..", "k1.!!!.@@@", "unknown.payload.signature"}) {
+
+            assertThat(service.verify(token)).as(token).isNull();
+        }
+    }
+
+    @Test
+    void expiredTokenIsRejected() throws InterruptedException {
+
+        ApiTokenService service = service("k1", Map.of("k1", KEY_1), Duration.ofMillis(1));
+
+        String token = service.issue(authentication);
+
+        Thread.sleep(10);
+
+        assertThat(service.verify(token)).isNull();
+    }
+
+    @Test
+    void unsupportedAuthenticationIsNotIssued() {
+
+        ApiTokenService service = service("k1", Map.of("k1", KEY_1), Duration.ofMinutes(30));
+
+        assertThat(service.issue(new UsernamePasswordAuthenticationToken(
+            authentication.getPrincipal(), null, authentication.getAuthorities()))).isNull();
+    }
+
+    @Test
+    void activeKeyMustBeRegistered() {
+
+        assertThatThrownBy(() -> service("k2", Map.of("k1", KEY_1), Duration.ofMinutes(30)))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void generatedKeyIsValidOnlyOnSameServer() {
+
+        ApiTokenService service = service(null, Map.of(), Duration.ofMinutes(30));
+
+        String token = service.issue(authentication);
+
+        assertThat(service.verify(token)).isNotNull();
+        assertThat(service(null, Map.of(), Duration.ofMinutes(30)).verify(token)).isNull();
+    }
+
+    /**
+     * 폐기 목록은 사용하지 않는다. (DB 는 ApiTokenRevocationListTests 에서 확인)
+     */
+    private static ApiTokenService service(String activeKeyId, Map<String, String> keys,
+        Duration ttl) {
+
+        ApiTokenProperties properties = new ApiTokenProperties();
+
+        properties.setActiveKeyId(activeKeyId);
+        properties.setKeys(keys);
+        properties.setTtl(ttl);
+
+        return new ApiTokenService(properties, new ApiTokenRevocationList(null, properties));
+    }
+
+    private static String key(int seed) {
+
+        byte[] key = new byte[32];
+
+        Arrays.fill(key, (byte) seed);
+
+        return Base64.getEncoder().encodeToString(key);
+    }
+}
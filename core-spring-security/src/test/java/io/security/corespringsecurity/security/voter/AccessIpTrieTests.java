@@ -0,0 +1,121 @@
+package io.security.corespringsecurity.security.voter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class AccessIpTrieTests {
+
+    private final AccessIpTrie trie = AccessIpTrie.compile(List.of(
+        "10.0.0.0/8", "192.168.0.10", "2001:db8::/32", "::1", "invalid", "10.0.0.0/33"));
+
+    @Test
+    void invalidEntriesAreIgnored() {
+        assertThat(trie.size()).isEqualTo(4);
+    }
+
+    /**
+     * 다른 서버에서 같은 허용 IP 목록을 읽으면 같은 version
+     */
+    @Test
+    void versionDependsOnlyOnContent() {
+
+        AccessIpTrie same = AccessIpTrie.compile(List.of(
+            "0:0:0:0:0:0:0:1", "2001:db8:ffff::/32", "invalid", "192.168.0.10", "10.1.2.3/8",
+            "192.168.0.10"));
+
+        assertThat(same.getVersion()).isEqualTo(trie.getVersion());
+        assertThat(same.size()).isEqualTo(trie.size());
+
+        assertThat(AccessIpTrie.compile(List.of("10.0.0.0/8", "192.168.0.11", "2001:db8::/32",
+            "::1")).getVersion()).isNotEqualTo(trie.getVersion());
+        assertThat(AccessIpTrie.compile(List.of("10.0.0.0/16")).getVersion())
+            .isNotEqualTo(AccessIpTrie.compile(List.of("10.0.0.0/8")).getVersion());
+    }
+
+    @Test
+    void ipv4Ranges() {
+
+        assertThat(trie.matches("10.0.0.1")).isTrue();
+        assertThat(trie.matches("10.255.255.255")).isTrue();
+        assertThat(trie.matches("11.0.0.1")).isFalse();
+        assertThat(trie.matches("192.168.0.10")).isTrue();
+        assertThat(trie.matches("192.168.0.11")).isFalse();
+    }
+
+    @Test
+    void ipv6Ranges() {
+
+        assertThat(trie.matches("2001:db8:1234::1")).isTrue();
+        assertThat(trie.matches("2001:db9::1")).isFalse();
+        assertThat(trie.matches("::1")).isTrue();
+        assertThat(trie.matches("::2")).isFalse();
+    }
+
+    @Test
+    void ipv4MappedAddressMatchesIpv4Rules() {
+
+        assertThat(trie.matches("::ffff:10.1.2.3")).isTrue();
+
+        AccessIpTrie mapped = AccessIpTrie.compile(List.of("::ffff:192.0.2.0/120"));
+
+        assertThat(mapped.matches("192.0.2.77")).isTrue();
+        assertThat(mapped.matches("192.0.3.1")).isFalse();
+    }
+
+    @Test
+    void invalidAddressNeverMatches() {
+
+        AccessIpTrie all = AccessIpTrie.compile(List.of("0.0.0.0/0", "::/0"));
+
+        assertThat(all.matches("203.0.113.1")).isTrue();
+        assertThat(all.matches("2001:db8::1")).isTrue();
+        assertThat(all.matches("unknown")).isFalse();
+        assertThat(all.matches((String) null)).isFalse();
+    }
+
+    @Test
+    void sameResultAsMaskComparison() {
+
+        Random random = new Random(7);
+
+        List<String> cidrs = new ArrayList<>();
+        List<int[]> ranges = new ArrayList<>();
+
+        for (int i = 0; i < 50; i++) {
+
+            int address = random.nextInt();
+            int prefixLength = 8 + random.nextInt(25);
+
+            cidrs.add(format(address) + "/" + prefixLength);
+            ranges.add(new int[]{address, prefixLength});
+        }
+
+        AccessIpTrie randomTrie = AccessIpTrie.compile(cidrs);
+
+        for (int i = 0; i < 10_000; i++) {
+
+            // 절반은 등록된 범위 근처의 주소
+            int address = random.nextBoolean()
+                ? ranges.get(random.nextInt(ranges.size()))[0] ^ (random.nextInt() >>> 20)
+                : random.nextInt();
+
+            boolean expected = ranges.stream().anyMatch(range -> {
+                int mask = -1 << (32 - range[1]);
+                return (address & mask) == (range[0] & mask);
+            });
+
+            assertThat(randomTrie.matches(format(address))).as(format(address))
+                .isEqualTo(expected);
+        }
+    }
+
+    private static String format(int address) {
+        return (address >>> 24) + "." + ((address >>> 16) & 0xff) + "."
+            + ((address >>> 8) & 0xff) + "." + (address & 0xff);
+    }
+}
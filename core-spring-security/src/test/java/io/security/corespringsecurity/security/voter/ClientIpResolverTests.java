@@ -0,0 +1,106 @@
+package io.security.corespringsecurity.security.voter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+class ClientIpResolverTests {
+
+    private final ClientIpResolver resolver = new ClientIpResolver(
+        List.of("10.0.0.0/8", "2001:db8::/32"));
+
+    @Test
+    void untrustedRemoteAddressIgnoresHeaders() {
+
+        MockHttpServletRequest request = request("203.0.113.7");
+
+        request.addHeader("X-Forwarded-For", "198.51.100.1");
+
+        assertThat(resolver.resolve(request)).isEqualTo("203.0.113.7");
+    }
+
+    @Test
+    void rightMostUntrustedHopIsClient() {
+
+        MockHttpServletRequest request = request("10.0.0.1");
+
+        // 198.51.100.1 은 Client 가 임의로 추가한 값
+        request.addHeader("X-Forwarded-For", "198.51.100.1, 203.0.113.9, 10.0.0.2");
+
+        assertThat(resolver.resolve(request)).isEqualTo("203.0.113.9");
+    }
+
+    @Test
+    void leftMostHopWhenEveryHopIsTrusted() {
+
+        MockHttpServletRequest request = request("10.0.0.1");
+
+        request.addHeader("X-Forwarded-For", "10.0.0.3, 10.0.0.2");
+
+        assertThat(resolver.resolve(request)).isEqualTo("10.0.0.3");
+    }
+
+    @Test
+    void lastHeaderLineIsNearestProxy() {
+
+        MockHttpServletRequest request = request("10.0.0.1");
+
+        request.addHeader("X-Forwarded-For", "203.0.113.1");
+        request.addHeader("X-Forwarded-For", "10.0.0.2");
+
+        assertThat(resolver.resolve(request)).isEqualTo("203.0.113.1");
+    }
+
+    @Test
+    void ipv4PortIsRemovedEvenWhenIpv6HopFollows() {
+
+        MockHttpServletRequest request = request("10.0.0.1");
+
+        request.addHeader("X-Forwarded-For", "203.0.113.5:8080, 2001:db8::1");
+
+        assertThat(resolver.resolve(request)).isEqualTo("203.0.113.5");
+    }
+
+    @Test
+    void bracketedIpv6WithPort() {
+
+        MockHttpServletRequest request = request("10.0.0.1");
+
+        request.addHeader("X-Forwarded-For", "[2001:db9::1]:443");
+
+        assertThat(resolver.resolve(request)).isEqualTo("2001:db9::1");
+    }
+
+    @Test
+    void forwardedHeaderIsUsedWithoutXForwardedFor() {
+
+        MockHttpServletRequest request = request("10.0.0.1");
+
+        request.addHeader("Forwarded",
+            "for=198.51.100.60;proto=http, for=\"[2001:db8::7]:80\";by=10.0.0.1");
+
+        assertThat(resolver.resolve(request)).isEqualTo("198.51.100.60");
+    }
+
+    @Test
+    void malformedHopIsReturnedAsUntrusted() {
+
+        MockHttpServletRequest request = request("10.0.0.1");
+
+        request.addHeader("X-Forwarded-For", "198.51.100.1, unknown");
+
+        assertThat(resolver.resolve(request)).isEqualTo("unknown");
+    }
+
+    private static MockHttpServletRequest request(String remoteAddress) {
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+
+        request.setRemoteAddr(remoteAddress);
+
+        return request;
+    }
+}
@@ -0,0 +1,49 @@
+package io.security.corespringsecurity.security.voter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.InetAddress;
+
+import org.junit.jupiter.api.Test;
+
+class IpAddressParserTests {
+
+    @Test
+    void sameBytesAsInetAddress() throws Exception {
+
+        for (String address : new String[]{"127.0.0.1", "192.168.0.10", "0.0.0.0",
+            "255.255.255.255", "::", "::1", "1::", "2001:db8::8a2e:370:7334",
+            "2001:0db8:0000:0000:0000:ff00:0042:8329", "fe80::1:2:3:4", "::ffff:10.0.0.1",
+            "64:ff9b::192.0.2.33"}) {
+
+            assertThat(IpAddressParser.parse(address))
+                .as(address)
+                .isEqualTo(InetAddress.getByName(address).getAddress());
+        }
+    }
+
+    @Test
+    void bracketsAreRemoved() throws Exception {
+
+        assertThat(IpAddressParser.parse("[2001:db8::1]"))
+            .isEqualTo(InetAddress.getByName("2001:db8::1").getAddress());
+    }
+
+    @Test
+    void ipv4MappedAddressIsUnmapped() {
+
+        assertThat(IpAddressParser.parse("::ffff:192.0.2.1"))
+            .containsExactly(192, 0, 2, 1);
+    }
+
+    @Test
+    void invalidAddresses() {
+
+        for (String address : new String[]{null, "", "  ", "unknown", "_hidden", "256.0.0.1",
+            "1.2.3", "1.2.3.4.5", "1..2.3", "1.2.3.4/8", "1::2::3", "12345::", ":::",
+            "1:2:3:4:5:6:7:8:9", "example.com"}) {
+
+            assertThat(IpAddressParser.parse(address)).as(String.valueOf(address)).isNull();
+        }
+    }
+}
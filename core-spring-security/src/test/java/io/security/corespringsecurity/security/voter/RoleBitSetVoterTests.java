@@ -0,0 +1,83 @@
+package io.security.corespringsecurity.security.voter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.access.ConfigAttribute;
+import org.springframework.security.access.SecurityConfig;
+import org.springframework.security.access.hierarchicalroles.RoleHierarchyImpl;
+import org.springframework.security.access.vote.RoleHierarchyVoter;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import io.security.corespringsecurity.security.hierarchy.ClosureRoleHierarchy;
+
+class RoleBitSetVoterTests {
+
+    private final ClosureRoleHierarchy closure = new ClosureRoleHierarchy();
+
+    private final RoleBitSetVoter voter = new RoleBitSetVoter(closure);
+
+    private final RoleHierarchyVoter expectedVoter;
+
+    RoleBitSetVoterTests() {
+
+        closure.setHierarchy(Map.of(
+            "ROLE_ADMIN", Set.of("ROLE_MANAGER"),
+            "ROLE_MANAGER", Set.of("ROLE_USER")));
+
+        RoleHierarchyImpl roleHierarchy = new RoleHierarchyImpl();
+
+        roleHierarchy.setHierarchy("ROLE_ADMIN > ROLE_MANAGER\nROLE_MANAGER > ROLE_USER");
+
+        this.expectedVoter = new RoleHierarchyVoter(roleHierarchy);
+    }
+
+    @Test
+    void sameVoteAsRoleHierarchyVoter() {
+
+        List<List<ConfigAttribute>> attributesList = List.of(
+            SecurityConfig.createList("ROLE_USER"),
+            SecurityConfig.createList("ROLE_MANAGER"),
+            SecurityConfig.createList("ROLE_ADMIN"),
+            SecurityConfig.createList("ROLE_USER", "ROLE_ADMIN"),
+            SecurityConfig.createList("ROLE_UNKNOWN"),
+            SecurityConfig.createList("permitAll"),
+            List.of());
+
+        for (String role : List.of("ROLE_ADMIN", "ROLE_MANAGER", "ROLE_USER", "ROLE_OTHER")) {
+
+            Authentication authentication = new UsernamePasswordAuthenticationToken(
+                "user", null, AuthorityUtils.createAuthorityList(role));
+
+            for (List<ConfigAttribute> attributes : attributesList) {
+
+                assertThat(voter.vote(authentication, null, attributes))
+                    .as("%s -> %s", role, attributes)
+                    .isEqualTo(expectedVoter.vote(authentication, null, attributes));
+            }
+        }
+    }
+
+    @Test
+    void hierarchyChangeIsApplied() {
+
+        Authentication authentication = new UsernamePasswordAuthenticationToken(
+            "user", null, AuthorityUtils.createAuthorityList("ROLE_MANAGER"));
+
+        List<ConfigAttribute> attributes = SecurityConfig.createList("ROLE_USER");
+
+        assertThat(voter.vote(authentication, null, attributes))
+            .isEqualTo(RoleBitSetVoter.ACCESS_GRANTED);
+
+        closure.setHierarchy(Map.of("ROLE_ADMIN", Set.of("ROLE_MANAGER")));
+
+        assertThat(voter.vote(authentication, null, attributes))
+            .isEqualTo(RoleBitSetVoter.ACCESS_DENIED);
+    }
+}